@@ -0,0 +1,196 @@
+package com.jciterceros.literalura.benchmark;
+
+import com.jciterceros.literalura.dto.AutorResumoDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.repository.AutorRepository;
+import com.jciterceros.literalura.repository.LivroRepository;
+import com.jciterceros.literalura.service.CacheSegundoNivel;
+import com.jciterceros.literalura.util.NormalizadorTexto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada consulta do {@link LivroRepository} e do {@link AutorRepository} sobre
+ * tabelas com 1 mil, 100 mil e 1 milhão de livros (metade disso em autores).
+ * Os dados são inseridos direto por JDBC em lotes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ConsultasBenchmark {
+
+    private static final String[] IDIOMAS = {"pt", "en", "fr", "es", "de"};
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final Limit PAGINA = Limit.of(50);
+
+    @Param({"1000", "100000", "1000000"})
+    public int livros;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroRepository livroRepository;
+    private AutorRepository autorRepository;
+    private String chaveExistente;
+    private long idDoMeio;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoAplicacao.iniciar();
+        livroRepository = contexto.getBean(LivroRepository.class);
+        autorRepository = contexto.getBean(AutorRepository.class);
+        popular(contexto.getBean(JdbcTemplate.class));
+        // Os inserts por JDBC não passam pelo Hibernate: descarta o que ficou em cache dos seeds
+        contexto.getBean(CacheSegundoNivel.class).limpar();
+        chaveExistente = Livro.chaveNatural(null, IDIOMAS[(livros / 2) % IDIOMAS.length], titulo(livros / 2));
+        idDoMeio = livros / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private void popular(JdbcTemplate jdbc) {
+        // Limpa os seeds do DataLoader para que as tabelas tenham exatamente o tamanho do parâmetro
+        jdbc.update("DELETE FROM livro_autor");
+        jdbc.update("DELETE FROM livros");
+        jdbc.update("DELETE FROM autores");
+
+        Random aleatorio = new Random(42);
+        int autores = Math.max(1, livros / 2);
+
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 1; i <= autores; i++) {
+            int nascimento = 1500 + i % 500;
+            Integer falecimento = i % 10 == 0 ? null : nascimento + 30 + i % 60;
+            String nome = "Autor #" + i + "#";
+            lote.add(new Object[]{(long) i, nome, NormalizadorTexto.normalizarNomeAutor(nome), nascimento,
+                    falecimento});
+            if (lote.size() == TAMANHO_LOTE || i == autores) {
+                jdbc.batchUpdate("INSERT INTO autores (id, nome, nome_normalizado, ano_nascimento, ano_falecimento) "
+                        + "VALUES (?, ?, ?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+
+        List<Object[]> associacoes = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 1; i <= livros; i++) {
+            String idioma = IDIOMAS[i % IDIOMAS.length];
+            lote.add(new Object[]{(long) i, titulo(i), idioma, aleatorio.nextInt(100_000),
+                    Livro.chaveNatural(null, idioma, titulo(i))});
+            associacoes.add(new Object[]{(long) i, (long) (i % autores) + 1});
+            if (lote.size() == TAMANHO_LOTE || i == livros) {
+                jdbc.batchUpdate("INSERT INTO livros (id, titulo, idioma, numero_downloads, chave_natural) "
+                        + "VALUES (?, ?, ?, ?, ?)", lote);
+                jdbc.batchUpdate("INSERT INTO livro_autor (livro_id, autor_id) VALUES (?, ?)", associacoes);
+                lote.clear();
+                associacoes.clear();
+            }
+        }
+    }
+
+    private static String titulo(int i) {
+        return "Titulo #" + i + "#";
+    }
+
+    // LivroRepository
+
+    @Benchmark
+    public List<Livro> livrosFindAll() {
+        return livroRepository.findAll();
+    }
+
+    @Benchmark
+    public Optional<Livro> livrosPorTitulo() {
+        return livroRepository.findByChaveNatural(chaveExistente);
+    }
+
+    @Benchmark
+    public List<LivroResumoDTO> livrosPorIdioma() {
+        return livroRepository.buscarPorIdioma("pt");
+    }
+
+    @Benchmark
+    public List<String> livrosIdiomasDisponiveis() {
+        return livroRepository.buscarIdiomasDisponiveis();
+    }
+
+    @Benchmark
+    public List<Livro> livrosPaginaPorCursor() {
+        return livroRepository.buscarComAutores(livroRepository.buscarIdsApos(idDoMeio, PAGINA));
+    }
+
+    @Benchmark
+    public List<Long> livrosPaginaPorIdioma() {
+        return livroRepository.buscarIdsPorIdiomaApos("pt", idDoMeio, PAGINA);
+    }
+
+    @Benchmark
+    public List<Long> livrosMaisBaixados() {
+        return livroRepository.buscarIdsMaisBaixados(PAGINA);
+    }
+
+    @Benchmark
+    public List<Long> livrosMaisBaixadosAposCursor() {
+        return livroRepository.buscarIdsMaisBaixadosApos(50_000, idDoMeio, PAGINA);
+    }
+
+    @Benchmark
+    public List<LivroResumoDTO> livrosResumosMaisBaixados() {
+        return livroRepository.buscarResumosMaisBaixados(PAGINA);
+    }
+
+    @Benchmark
+    public List<LivroResumoDTO> livrosResumosMaisBaixadosPorIdioma() {
+        return livroRepository.buscarResumosMaisBaixadosPorIdioma("pt", PAGINA);
+    }
+
+    // AutorRepository
+
+    @Benchmark
+    public List<Autor> autoresVivos() {
+        return autorRepository.buscarAutoresVivos();
+    }
+
+    @Benchmark
+    public List<Autor> autoresPorAnoNascimento() {
+        return autorRepository.buscarAutoresPorAnoNascimento(1990);
+    }
+
+    @Benchmark
+    public List<Autor> autoresVivosEmAno() {
+        return autorRepository.buscarAutoresVivosEmAno(1800);
+    }
+
+    @Benchmark
+    public List<Autor> autoresNascidosEmAno() {
+        return autorRepository.buscarAutoresNascidosEmAno(1800);
+    }
+
+    @Benchmark
+    public List<Autor> autoresPorAnoMorte() {
+        return autorRepository.buscarAutoresPorAnoMorte(1860);
+    }
+
+    @Benchmark
+    public List<Autor> autoresPaginaPorCursor() {
+        return autorRepository.findByIdGreaterThanOrderByIdAsc(idDoMeio / 2, PAGINA);
+    }
+
+    @Benchmark
+    public List<AutorResumoDTO> autoresResumos() {
+        return autorRepository.buscarResumos();
+    }
+}
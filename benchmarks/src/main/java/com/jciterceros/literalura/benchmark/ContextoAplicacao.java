@@ -0,0 +1,29 @@
+package com.jciterceros.literalura.benchmark;
+
+import com.jciterceros.literalura.LiteraluraApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * Sobe a aplicação sem servidor web, sem o menu interativo e com um banco H2 em
+ * memória exclusivo para o benchmark.
+ */
+final class ContextoAplicacao {
+
+    private ContextoAplicacao() {
+    }
+
+    static ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(LiteraluraApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--literalura.cli.habilitado=false",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+}
@@ -0,0 +1,51 @@
+package com.jciterceros.literalura.benchmark;
+
+import com.jciterceros.literalura.dto.RespostaDTO;
+import com.jciterceros.literalura.service.ConverteDados;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de páginas do Gutendex para {@link RespostaDTO}, a partir de String e
+ * a partir do fluxo de bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverteDadosBenchmark {
+
+    @Param({"1", "32", "320"})
+    public int livrosPorPagina;
+
+    private final ConverteDados converteDados = new ConverteDados();
+
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void preparar() {
+        json = PayloadsGutendex.pagina(livrosPorPagina);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public RespostaDTO converterString() {
+        return converteDados.obterDados(json, RespostaDTO.class);
+    }
+
+    @Benchmark
+    public RespostaDTO converterFluxo() {
+        return converteDados.obterDados(new ByteArrayInputStream(bytes), RespostaDTO.class);
+    }
+
+    @Benchmark
+    public String extrairProximaPagina() {
+        return converteDados.extrairCampoRaiz(json, "next");
+    }
+}
@@ -0,0 +1,73 @@
+package com.jciterceros.literalura.benchmark;
+
+import com.jciterceros.literalura.dto.AutorDTO;
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.service.LivroService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação de um livro pelo {@link LivroService#salvarLivro}, com autor ainda não
+ * cadastrado e com autor já existente, e de um lote de {@value #TAMANHO_LOTE}
+ * livros pelo {@link LivroService#salvarLivros}, sobre H2 em memória. Compare o
+ * tempo por livro: o do lote dividido por {@value #TAMANHO_LOTE}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LivroServiceBenchmark {
+
+    private static final int TAMANHO_LOTE = 100;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroService livroService;
+    private long sequencia;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoAplicacao.iniciar();
+        livroService = contexto.getBean(LivroService.class);
+        livroService.salvarLivro(livro("Livro #0#", "Autor Existente"));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Livro salvarComAutorNovo() {
+        long n = ++sequencia;
+        return livroService.salvarLivro(livro("Livro #" + n + "#", "Autor #" + n + "#"));
+    }
+
+    @Benchmark
+    public Livro salvarComAutorExistente() {
+        long n = ++sequencia;
+        return livroService.salvarLivro(livro("Livro #" + n + "#", "Autor Existente"));
+    }
+
+    @Benchmark
+    public List<Livro> salvarLote() {
+        List<LivroDTO> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            long n = ++sequencia;
+            // Metade dos livros com autor novo, metade com o autor já existente
+            lote.add(livro("Livro #" + n + "#", i % 2 == 0 ? "Autor #" + n + "#" : "Autor Existente"));
+        }
+        return livroService.salvarLivros(lote);
+    }
+
+    // Os títulos são delimitados por '#' para que nenhum seja trecho de outro
+    private static LivroDTO livro(String titulo, String autor) {
+        return new LivroDTO(null, titulo, List.of("pt"), 100, List.of(new AutorDTO(autor, 1900, 1980)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.jciterceros.literalura.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Monta páginas no formato da resposta do Gutendex a partir de um livro gravado
+ * ({@code gutendex/livro.json}), variando id, título e downloads de cada item.
+ */
+final class PayloadsGutendex {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PayloadsGutendex() {
+    }
+
+    static String pagina(int livros) {
+        ObjectNode modelo = carregarModelo();
+        ObjectNode pagina = MAPPER.createObjectNode();
+        pagina.put("count", 75_000);
+        pagina.put("next", "https://gutendex.com/books/?page=2");
+        pagina.putNull("previous");
+        ArrayNode resultados = pagina.putArray("results");
+        for (int i = 0; i < livros; i++) {
+            ObjectNode livro = modelo.deepCopy();
+            livro.put("id", 10_000 + i);
+            livro.put("title", modelo.get("title").asText() + " " + i);
+            livro.put("download_count", 1_000 + i);
+            resultados.add(livro);
+        }
+        try {
+            return MAPPER.writeValueAsString(pagina);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ObjectNode carregarModelo() {
+        try (InputStream entrada = PayloadsGutendex.class.getResourceAsStream("/gutendex/livro.json")) {
+            return (ObjectNode) MAPPER.readTree(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
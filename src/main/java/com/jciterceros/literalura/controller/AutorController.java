@@ -0,0 +1,49 @@
+package com.jciterceros.literalura.controller;
+
+import com.jciterceros.literalura.dto.AutorResumoDTO;
+import com.jciterceros.literalura.dto.PaginaDTO;
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.service.LivroService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/autores")
+public class AutorController {
+
+    @Autowired
+    private LivroService livroService;
+
+    @GetMapping
+    public ResponseEntity<PaginaDTO<Autor>> listarAutores(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        PaginaDTO<Autor> autores = livroService.listarAutores(after, limit);
+        return ResponseEntity.ok(autores);
+    }
+
+    @GetMapping("/vivos")
+    public ResponseEntity<List<AutorResumoDTO>> listarVivosEmAno(@RequestParam Integer ano) {
+        return ResponseEntity.ok(livroService.buscarAutoresVivosEmAno(ano));
+    }
+
+    @GetMapping("/nascidos")
+    public ResponseEntity<List<AutorResumoDTO>> listarNascidosEntre(@RequestParam Integer de,
+            @RequestParam Integer ate) {
+        return ResponseEntity.ok(livroService.buscarAutoresNascidosEntre(de, ate));
+    }
+
+    @GetMapping("/falecidos")
+    public ResponseEntity<List<AutorResumoDTO>> listarFalecidosEntre(@RequestParam Integer de,
+            @RequestParam Integer ate) {
+        return ResponseEntity.ok(livroService.buscarAutoresFalecidosEntre(de, ate));
+    }
+
+    @GetMapping("/linha-do-tempo")
+    public ResponseEntity<Map<Integer, Long>> linhaDoTempo(@RequestParam Integer de, @RequestParam Integer ate) {
+        return ResponseEntity.ok(livroService.contarAutoresVivosPorAno(de, ate));
+    }
+}
@@ -0,0 +1,39 @@
+package com.jciterceros.literalura.controller;
+
+import com.jciterceros.literalura.dto.ColetaDTO;
+import com.jciterceros.literalura.service.ColetorCatalogo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/coleta")
+public class ColetaController {
+
+    @Autowired
+    private ColetorCatalogo coletorCatalogo;
+
+    /**
+     * Inicia a coleta e responde 202 de imediato; o progresso e o relatório ficam
+     * em {@code GET /api/coleta/{id}} (cabeçalho Location). Com outra coleta em
+     * andamento, responde 409.
+     */
+    @PostMapping
+    public ResponseEntity<ColetaDTO> coletar(@RequestParam(required = false) String filtro,
+            @RequestParam(defaultValue = "true") boolean retomar) {
+        ColetaDTO coleta = coletorCatalogo.iniciar(filtro, retomar);
+        URI local = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(coleta.id())
+                .toUri();
+        return ResponseEntity.accepted().location(local).body(coleta);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ColetaDTO> consultar(@PathVariable String id) {
+        return ResponseEntity.ok(coletorCatalogo.consultar(id));
+    }
+}
@@ -0,0 +1,30 @@
+package com.jciterceros.literalura.controller;
+
+import com.jciterceros.literalura.dto.EstatisticasCacheDTO;
+import com.jciterceros.literalura.dto.EstatisticasCacheEntidadesDTO;
+import com.jciterceros.literalura.service.CacheSegundoNivel;
+import com.jciterceros.literalura.service.ConsumoAPI;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/diagnostico")
+public class DiagnosticoController {
+
+    @Autowired
+    private ConsumoAPI consumoAPI;
+
+    @Autowired
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    @GetMapping("/cache-http")
+    public ResponseEntity<EstatisticasCacheDTO> estatisticasCacheHttp() {
+        return ResponseEntity.ok(consumoAPI.estatisticasCache());
+    }
+
+    @GetMapping("/cache-entidades")
+    public ResponseEntity<EstatisticasCacheEntidadesDTO> estatisticasCacheEntidades() {
+        return ResponseEntity.ok(cacheSegundoNivel.estatisticas());
+    }
+}
@@ -0,0 +1,38 @@
+package com.jciterceros.literalura.controller;
+
+import com.jciterceros.literalura.dto.ImportacaoDTO;
+import com.jciterceros.literalura.dto.PedidoImportacaoDTO;
+import com.jciterceros.literalura.service.FilaImportacoes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/importacoes")
+public class ImportacaoController {
+
+    @Autowired
+    private FilaImportacoes filaImportacoes;
+
+    /**
+     * Enfileira a importação e responde 202 de imediato; a situação fica em
+     * {@code GET /api/importacoes/{id}} (cabeçalho Location).
+     */
+    @PostMapping
+    public ResponseEntity<ImportacaoDTO> enviar(@RequestBody PedidoImportacaoDTO pedido) {
+        ImportacaoDTO importacao = filaImportacoes.enviar(pedido);
+        URI local = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(importacao.id())
+                .toUri();
+        return ResponseEntity.accepted().location(local).body(importacao);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacaoDTO> consultar(@PathVariable String id) {
+        return ResponseEntity.ok(filaImportacoes.consultar(id));
+    }
+}
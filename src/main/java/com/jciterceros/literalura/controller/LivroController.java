@@ -1,11 +1,26 @@
 package com.jciterceros.literalura.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jciterceros.literalura.dto.ContagemIdiomaDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.dto.PaginaDTO;
+import com.jciterceros.literalura.dto.RelatorioDownloadsDTO;
 import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.service.AtualizadorDownloads;
+import com.jciterceros.literalura.service.BuscaEmLote;
+import com.jciterceros.literalura.service.ExportadorCatalogo;
 import com.jciterceros.literalura.service.LivroService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,21 +31,67 @@ public class LivroController {
     @Autowired
     private LivroService livroService;
 
+    @Autowired
+    private BuscaEmLote buscaEmLote;
+
+    @Autowired
+    private ExportadorCatalogo exportadorCatalogo;
+
+    @Autowired
+    private AtualizadorDownloads atualizadorDownloads;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<Livro>> listarTodosLivros() {
-        List<Livro> livros = livroService.buscarTodosLivros();
+    public ResponseEntity<PaginaDTO<Livro>> listarTodosLivros(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        PaginaDTO<Livro> livros = livroService.listarLivros(after, limit);
         return ResponseEntity.ok(livros);
     }
 
+    /**
+     * Exporta o catálogo inteiro em NDJSON ou CSV. Os livros são escritos à medida
+     * que são lidos do banco, então a resposta começa imediatamente e a memória
+     * não cresce com o tamanho do catálogo.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportadorCatalogo.Formato formato = ExportadorCatalogo.Formato.de(format);
+        StreamingResponseBody corpo = saida -> exportadorCatalogo.exportar(formato, saida);
+        ContentDisposition anexo = ContentDisposition.attachment()
+                .filename("catalogo." + formato.getExtensao())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(formato.getTipo())
+                .header(HttpHeaders.CONTENT_DISPOSITION, anexo.toString())
+                .body(corpo);
+    }
+
     @GetMapping("/top5")
     public ResponseEntity<List<Livro>> listarTop5Livros() {
         List<Livro> livros = livroService.buscarTop5Livros();
         return ResponseEntity.ok(livros);
     }
 
+    @GetMapping("/top")
+    public ResponseEntity<List<LivroResumoDTO>> listarTopLivros(@RequestParam(defaultValue = "10") int n,
+            @RequestParam(required = false) String idioma) {
+        List<LivroResumoDTO> livros = livroService.buscarMaisBaixados(n, idioma);
+        return ResponseEntity.ok(livros);
+    }
+
+    @GetMapping("/mais-baixados")
+    public ResponseEntity<PaginaDTO<Livro>> listarMaisBaixados(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        PaginaDTO<Livro> livros = livroService.listarMaisBaixados(after, limit);
+        return ResponseEntity.ok(livros);
+    }
+
     @GetMapping("/idioma/{idioma}")
-    public ResponseEntity<List<Livro>> buscarPorIdioma(@PathVariable String idioma) {
-        List<Livro> livros = livroService.buscarPorIdioma(idioma);
+    public ResponseEntity<PaginaDTO<Livro>> buscarPorIdioma(@PathVariable String idioma,
+            @RequestParam(required = false) String after, @RequestParam(defaultValue = "50") int limit) {
+        PaginaDTO<Livro> livros = livroService.listarLivrosPorIdioma(idioma, after, limit);
         return ResponseEntity.ok(livros);
     }
 
@@ -40,10 +101,60 @@ public class LivroController {
         return ResponseEntity.ok(idiomas);
     }
 
+    @GetMapping("/idiomas/contagem")
+    public ResponseEntity<List<ContagemIdiomaDTO>> contarPorIdioma() {
+        List<ContagemIdiomaDTO> contagens = livroService.contarPorIdioma();
+        return ResponseEntity.ok(contagens);
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<List<LivroResumoDTO>> buscarNoIndice(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<LivroResumoDTO> livros = livroService.buscarNoIndice(q, limit);
+        return ResponseEntity.ok(livros);
+    }
+
     @GetMapping("/buscar")
     public ResponseEntity<Livro> buscarPorTitulo(@RequestParam String titulo) {
         Optional<Livro> livro = livroService.buscarPorTitulo(titulo);
         return livro.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Busca uma lista de títulos no Gutendex e responde em NDJSON, uma linha por
+     * título, na ordem em que as buscas terminam.
+     */
+    @PostMapping(value = "/buscar-lote", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> buscarEmLote(@RequestBody List<String> titulos) {
+        List<String> distintos = buscaEmLote.prepararTitulos(titulos);
+        StreamingResponseBody corpo = saida -> {
+            try {
+                buscaEmLote.buscar(distintos, resultado -> {
+                    try {
+                        saida.write(objectMapper.writeValueAsBytes(resultado));
+                        saida.write('\n');
+                        saida.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Busca em lote interrompida");
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
+    /**
+     * Atualiza agora o número de downloads dos livros com id do Gutendex, o mesmo
+     * processo executado pelo agendamento ({@code literalura.downloads.cron}).
+     */
+    @PostMapping("/downloads/atualizar")
+    public ResponseEntity<RelatorioDownloadsDTO> atualizarDownloads() {
+        return ResponseEntity.ok(atualizadorDownloads.atualizar());
+    }
+}
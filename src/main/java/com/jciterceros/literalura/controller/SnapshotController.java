@@ -0,0 +1,21 @@
+package com.jciterceros.literalura.controller;
+
+import com.jciterceros.literalura.dto.RelatorioSnapshotDTO;
+import com.jciterceros.literalura.service.SnapshotCatalogo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/snapshot")
+public class SnapshotController {
+
+    @Autowired
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @PostMapping
+    public ResponseEntity<RelatorioSnapshotDTO> salvar() {
+        RelatorioSnapshotDTO relatorio = snapshotCatalogo.salvar();
+        return ResponseEntity.ok(relatorio);
+    }
+}
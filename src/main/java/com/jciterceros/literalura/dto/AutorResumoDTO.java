@@ -0,0 +1,11 @@
+package com.jciterceros.literalura.dto;
+
+/**
+ * Projeção somente leitura de um autor, sem a coleção de livros.
+ */
+public record AutorResumoDTO(
+        Long id,
+        String nome,
+        Integer anoNascimento,
+        Integer anoFalecimento) {
+}
@@ -0,0 +1,18 @@
+package com.jciterceros.literalura.dto;
+
+import java.time.Instant;
+
+/**
+ * Situação de uma coleta assíncrona. O relatório é parcial enquanto a coleta
+ * está em andamento.
+ */
+public record ColetaDTO(
+        String id,
+        String estado,
+        String filtro,
+        boolean retomar,
+        Instant criadaEm,
+        Instant iniciadaEm,
+        Instant concluidaEm,
+        RelatorioColetaDTO relatorio) {
+}
@@ -0,0 +1,7 @@
+package com.jciterceros.literalura.dto;
+
+public record ContagemIdiomaDTO(
+        String idioma,
+        Long quantidade,
+        Long totalDownloads) {
+}
@@ -0,0 +1,15 @@
+package com.jciterceros.literalura.dto;
+
+public record EstatisticasCacheDTO(
+        long acertosMemoria,
+        long falhasMemoria,
+        long remocoesMemoria,
+        int entradasMemoria,
+        long bytesMemoria,
+        long bytesServidosMemoria,
+        long requisicoesDisco,
+        long acertosDisco,
+        long requisicoesRede,
+        long bytesDisco,
+        long bytesRecebidosRede) {
+}
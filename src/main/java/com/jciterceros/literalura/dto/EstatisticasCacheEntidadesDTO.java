@@ -0,0 +1,15 @@
+package com.jciterceros.literalura.dto;
+
+import java.util.List;
+
+public record EstatisticasCacheEntidadesDTO(
+        long acertos,
+        long falhas,
+        long gravacoes,
+        double taxaAcerto,
+        long acertosConsultas,
+        long falhasConsultas,
+        long gravacoesConsultas,
+        double taxaAcertoConsultas,
+        List<EstatisticasRegiaoCacheDTO> regioes) {
+}
@@ -0,0 +1,9 @@
+package com.jciterceros.literalura.dto;
+
+public record EstatisticasRegiaoCacheDTO(
+        String regiao,
+        long acertos,
+        long falhas,
+        long gravacoes,
+        double taxaAcerto) {
+}
@@ -0,0 +1,26 @@
+package com.jciterceros.literalura.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Situação de uma importação assíncrona. {@code total} é conhecido depois da
+ * primeira página de resultados; {@code duracaoMs} conta desde o início do
+ * processamento, sem o tempo na fila.
+ */
+public record ImportacaoDTO(
+        String id,
+        String estado,
+        String termo,
+        int totalIds,
+        Integer total,
+        int processados,
+        int salvos,
+        int falhas,
+        Instant criadaEm,
+        Instant iniciadaEm,
+        Instant concluidaEm,
+        Long duracaoMs,
+        String erro,
+        List<ItemImportacaoDTO> itens) {
+}
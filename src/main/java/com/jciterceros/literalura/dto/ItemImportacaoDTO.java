@@ -0,0 +1,13 @@
+package com.jciterceros.literalura.dto;
+
+/**
+ * Resultado de um livro dentro de uma importação: {@code livroId} quando foi
+ * salvo (ou já existia), {@code erro} quando falhou.
+ */
+public record ItemImportacaoDTO(
+        Long gutendexId,
+        String titulo,
+        Long livroId,
+        String erro,
+        long duracaoMs) {
+}
@@ -0,0 +1,14 @@
+package com.jciterceros.literalura.dto;
+
+/**
+ * Uma linha livro × autor do catálogo. Livros com vários autores geram uma linha
+ * por autor, em sequência; livros sem autor geram uma linha com {@code autor}
+ * nulo.
+ */
+public record LinhaCatalogoDTO(
+        Long livroId,
+        String titulo,
+        String idioma,
+        Integer numeroDownloads,
+        String autor) {
+}
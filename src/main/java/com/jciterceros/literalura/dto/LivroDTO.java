@@ -6,6 +6,7 @@ import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record LivroDTO(
+        @JsonAlias("id") Long gutendexId,
         @JsonAlias("title") String titulo,
         @JsonAlias("languages") List<String> idiomas,
         @JsonAlias("download_count") Integer numeroDownloads,
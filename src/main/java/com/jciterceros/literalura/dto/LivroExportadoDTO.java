@@ -0,0 +1,14 @@
+package com.jciterceros.literalura.dto;
+
+import java.util.List;
+
+/**
+ * Um livro na exportação do catálogo, com os nomes dos autores.
+ */
+public record LivroExportadoDTO(
+        Long id,
+        String titulo,
+        String idioma,
+        Integer numeroDownloads,
+        List<String> autores) {
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.dto;
+
+/**
+ * Projeção somente leitura de um livro, sem autores, para listagens que exibem
+ * apenas título, idioma e downloads.
+ */
+public record LivroResumoDTO(
+        Long id,
+        String titulo,
+        String idioma,
+        Integer numeroDownloads) {
+}
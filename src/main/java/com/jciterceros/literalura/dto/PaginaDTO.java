@@ -0,0 +1,13 @@
+package com.jciterceros.literalura.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset). {@code proximoCursor} é
+ * {@code null} na última página; caso contrário, deve ser enviado no parâmetro
+ * {@code after} para obter a página seguinte.
+ */
+public record PaginaDTO<T>(
+        List<T> itens,
+        String proximoCursor) {
+}
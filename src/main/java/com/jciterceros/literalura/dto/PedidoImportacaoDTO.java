@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.dto;
+
+import java.util.List;
+
+/**
+ * Pedido de importação assíncrona: um termo de busca no Gutendex ou uma lista de
+ * ids de livros do Gutendex (um dos dois).
+ */
+public record PedidoImportacaoDTO(
+        String termo,
+        List<Long> ids) {
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.dto;
+
+public record RelatorioColetaDTO(
+        int paginas,
+        int livrosSalvos,
+        int falhas,
+        long duracaoMs,
+        double livrosPorSegundo,
+        boolean concluida,
+        String proximaUrl,
+        String erro) {
+}
@@ -0,0 +1,10 @@
+package com.jciterceros.literalura.dto;
+
+public record RelatorioDownloadsDTO(
+        long livrosVerificados,
+        long requisicoes,
+        long alterados,
+        long naoEncontrados,
+        long falhas,
+        long duracaoMs) {
+}
@@ -0,0 +1,11 @@
+package com.jciterceros.literalura.dto;
+
+public record RelatorioImportacaoDTO(
+        String arquivo,
+        long registros,
+        long livrosSalvos,
+        long ignorados,
+        long falhas,
+        long duracaoMs,
+        double livrosPorSegundo) {
+}
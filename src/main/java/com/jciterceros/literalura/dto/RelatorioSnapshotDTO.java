@@ -0,0 +1,10 @@
+package com.jciterceros.literalura.dto;
+
+public record RelatorioSnapshotDTO(
+        String arquivo,
+        long livros,
+        long autores,
+        long vinculos,
+        long bytes,
+        long duracaoMs) {
+}
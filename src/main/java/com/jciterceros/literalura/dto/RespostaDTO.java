@@ -6,5 +6,8 @@ import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record RespostaDTO(
+        @JsonAlias("count") Integer total,
+        @JsonAlias("next") String proxima,
+        @JsonAlias("previous") String anterior,
         @JsonAlias("results") List<LivroDTO> resultados) {
-}
\ No newline at end of file
+}
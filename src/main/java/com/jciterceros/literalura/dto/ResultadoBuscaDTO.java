@@ -0,0 +1,10 @@
+package com.jciterceros.literalura.dto;
+
+import java.util.List;
+
+public record ResultadoBuscaDTO(
+        String titulo,
+        List<LivroDTO> livros,
+        String erro,
+        long duracaoMs) {
+}
@@ -0,0 +1,15 @@
+package com.jciterceros.literalura.dto;
+
+/**
+ * Resultado de um comando do modo em lote, escrito como uma linha JSON.
+ * {@code resultado} é {@code null} quando o comando falha, e {@code erro}
+ * quando ele termina com sucesso.
+ */
+public record ResultadoComandoDTO(
+        int linha,
+        String comando,
+        boolean ok,
+        Object resultado,
+        String erro,
+        long duracaoMs) {
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.evento;
+
+import com.jciterceros.literalura.model.Livro;
+
+import java.util.List;
+
+/**
+ * Publicado quando novos livros são persistidos. Os índices em memória escutam
+ * este evento após o commit para se manterem atualizados.
+ */
+public record LivrosSalvosEvento(List<Livro> livros) {
+}
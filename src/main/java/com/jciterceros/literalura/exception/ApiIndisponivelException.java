@@ -0,0 +1,16 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ApiIndisponivelException extends RuntimeException {
+
+    public ApiIndisponivelException(String mensagem) {
+        super(mensagem);
+    }
+
+    public ApiIndisponivelException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class AtualizacaoEmAndamentoException extends RuntimeException {
+
+    public AtualizacaoEmAndamentoException() {
+        super("Já existe uma atualização de downloads em andamento");
+    }
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ColetaEmAndamentoException extends RuntimeException {
+
+    public ColetaEmAndamentoException() {
+        super("Já existe uma coleta do catálogo em andamento");
+    }
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ColetaNaoEncontradaException extends RuntimeException {
+
+    public ColetaNaoEncontradaException(String id) {
+        super("Coleta não encontrada: " + id);
+    }
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class FilaImportacoesCheiaException extends RuntimeException {
+
+    public FilaImportacoesCheiaException(int capacidade) {
+        super("Fila de importações cheia (" + capacidade + " aguardando). Tente novamente mais tarde.");
+    }
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class FormatoExportacaoInvalidoException extends RuntimeException {
+
+    public FormatoExportacaoInvalidoException(String formato) {
+        super("Formato de exportação inválido: " + formato + " (use ndjson ou csv)");
+    }
+}
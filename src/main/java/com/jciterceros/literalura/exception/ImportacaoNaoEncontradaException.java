@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ImportacaoNaoEncontradaException extends RuntimeException {
+
+    public ImportacaoNaoEncontradaException(String id) {
+        super("Importação não encontrada: " + id);
+    }
+}
@@ -0,0 +1,12 @@
+package com.jciterceros.literalura.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TamanhoRankingInvalidoException extends RuntimeException {
+
+    public TamanhoRankingInvalidoException(int n, int maximo) {
+        super("Quantidade inválida para o ranking: " + n + " (deve estar entre 1 e " + maximo + ")");
+    }
+}
@@ -1,18 +1,33 @@
 package com.jciterceros.literalura.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.jciterceros.literalura.util.NormalizadorTexto;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "autores")
+@Table(name = "autores", indexes = {
+        @Index(name = "idx_autores_ano_nascimento", columnList = "anoNascimento"),
+        @Index(name = "idx_autores_ano_falecimento", columnList = "anoFalecimento")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "autores")
 public class Autor {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Mesma estratégia de Livro, para que os autores também sejam gravados em lote
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "autores_seq")
+    @SequenceGenerator(name = "autores_seq", sequenceName = "autores_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
+
+    // Identidade do autor, com índice único: NormalizadorTexto.normalizarNomeAutor(nome)
+    @Column(nullable = false, unique = true)
+    private String nomeNormalizado;
+
     private Integer anoNascimento;
     private Integer anoFalecimento;
 
@@ -30,6 +45,15 @@ public class Autor {
         this.anoFalecimento = anoFalecimento;
     }
 
+    @PrePersist
+    @PreUpdate
+    void definirNomeNormalizado() {
+        nomeNormalizado = NormalizadorTexto.normalizarNomeAutor(nome);
+        if (nomeNormalizado.isEmpty()) {
+            throw new IllegalArgumentException("Nome de autor em branco: '" + nome + "'");
+        }
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -47,6 +71,10 @@ public class Autor {
         this.nome = nome;
     }
 
+    public String getNomeNormalizado() {
+        return nomeNormalizado;
+    }
+
     public Integer getAnoNascimento() {
         return anoNascimento;
     }
@@ -0,0 +1,53 @@
+package com.jciterceros.literalura.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Totais por idioma, mantidos na mesma transação que grava os livros, para que
+ * a contagem por idioma não precise percorrer a tabela de livros.
+ */
+@Entity
+@Table(name = "contagem_idioma")
+public class ContagemIdioma {
+
+    @Id
+    private String idioma;
+
+    private long quantidade;
+    private long totalDownloads;
+
+    // Construtores
+    public ContagemIdioma() {
+    }
+
+    public ContagemIdioma(String idioma, long quantidade, long totalDownloads) {
+        this.idioma = idioma;
+        this.quantidade = quantidade;
+        this.totalDownloads = totalDownloads;
+    }
+
+    // Getters e Setters
+    public String getIdioma() {
+        return idioma;
+    }
+
+    public void setIdioma(String idioma) {
+        this.idioma = idioma;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public long getTotalDownloads() {
+        return totalDownloads;
+    }
+
+    public void setTotalDownloads(long totalDownloads) {
+        this.totalDownloads = totalDownloads;
+    }
+}
@@ -1,22 +1,50 @@
 package com.jciterceros.literalura.model;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.jciterceros.literalura.util.NormalizadorTexto;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Locale;
 
 @Entity
-@Table(name = "livros")
+@Table(name = "livros", indexes = {
+        @Index(name = "idx_livros_titulo", columnList = "titulo"),
+        @Index(name = "idx_livros_idioma", columnList = "idioma")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livros")
+@NamedEntityGraph(name = Livro.GRAFO_AUTORES, attributeNodes = @NamedAttributeNode("autores"))
 public class Livro {
+
+    public static final String GRAFO_AUTORES = "Livro.autores";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com blocos de 50 ids: o Hibernate reserva os ids sem ir ao banco a
+    // cada insert e pode agrupar os inserts em lotes JDBC (IDENTITY impede isso)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "livros_seq")
+    @SequenceGenerator(name = "livros_seq", sequenceName = "livros_seq", allocationSize = 50)
     private Long id;
 
+    // Id do livro no Gutendex/Projeto Gutenberg; nulo para livros sem origem conhecida
+    @Column(unique = true)
+    private Long gutendexId;
+
+    // Identidade do livro, com índice único: ver chaveNatural(Long, String, String)
+    @Column(nullable = false, unique = true, length = 300)
+    private String chaveNatural;
+
     private String titulo;
     private String idioma;
     private Integer numeroDownloads;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
+    // Sem cascata: os autores são gravados antes do livro e podem chegar aqui
+    // desanexados, vindos do ResolvedorAutores. Carregamento preguiçoso: as
+    // consultas que exibem autores usam o grafo GRAFO_AUTORES
+    @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livros_autores")
     @JoinTable(name = "livro_autor", joinColumns = @JoinColumn(name = "livro_id"), inverseJoinColumns = @JoinColumn(name = "autor_id"))
     @JsonManagedReference
     private List<Autor> autores = new ArrayList<>();
@@ -27,11 +55,39 @@ public class Livro {
 
     public Livro(String titulo, String idioma, Integer numeroDownloads, List<Autor> autores) {
         this.titulo = titulo;
-        this.idioma = idioma;
+        this.idioma = normalizarIdioma(idioma);
         this.numeroDownloads = numeroDownloads;
         this.autores = autores;
     }
 
+    /**
+     * Chave que identifica um livro: {@code g:<id do Gutendex>} quando o id é
+     * conhecido; caso contrário {@code t:<idioma>:<título normalizado>}, de forma
+     * que "Sagarana" e "SAGARANA!" coincidem, mas "Sagarana" e "Sagarana e
+     * Outros Contos" não.
+     */
+    public static String chaveNatural(Long gutendexId, String idioma, String titulo) {
+        if (gutendexId != null) {
+            return "g:" + gutendexId;
+        }
+        String idiomaNormalizado = idioma == null ? "" : normalizarIdioma(idioma);
+        return "t:" + idiomaNormalizado + ":" + NormalizadorTexto.normalizar(titulo);
+    }
+
+    /**
+     * Código de idioma como é gravado e consultado: sem espaços e em minúsculas
+     * ("PT " → "pt"), para que o filtro por idioma seja uma igualdade no índice.
+     */
+    public static String normalizarIdioma(String idioma) {
+        return idioma == null ? null : idioma.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void definirChaveNatural() {
+        chaveNatural = chaveNatural(gutendexId, idioma, titulo);
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -41,6 +97,18 @@ public class Livro {
         this.id = id;
     }
 
+    public Long getGutendexId() {
+        return gutendexId;
+    }
+
+    public void setGutendexId(Long gutendexId) {
+        this.gutendexId = gutendexId;
+    }
+
+    public String getChaveNatural() {
+        return chaveNatural;
+    }
+
     public String getTitulo() {
         return titulo;
     }
@@ -54,7 +122,7 @@ public class Livro {
     }
 
     public void setIdioma(String idioma) {
-        this.idioma = idioma;
+        this.idioma = normalizarIdioma(idioma);
     }
 
     public Integer getNumeroDownloads() {
@@ -77,6 +145,7 @@ public class Livro {
     public String toString() {
         return "Livro{" +
                 "id=" + id +
+                ", gutendexId=" + gutendexId +
                 ", titulo='" + titulo + '\'' +
                 ", idioma='" + idioma + '\'' +
                 ", numeroDownloads=" + numeroDownloads +
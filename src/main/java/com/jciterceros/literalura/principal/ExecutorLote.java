@@ -0,0 +1,205 @@
+package com.jciterceros.literalura.principal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.dto.ResultadoComandoDTO;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.service.LivroService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Executa comandos do menu sem interação, um por linha, para uso em scripts e
+ * jobs agendados. Os comandos vêm do arquivo em {@code literalura.lote.arquivo}
+ * ({@code -} para a entrada padrão) ou, na falta dele, dos argumentos da linha
+ * de comando que não são opções ({@code --...}).
+ * <p>
+ * Cada comando produz uma linha JSON ({@link ResultadoComandoDTO}) na saída
+ * padrão ou no arquivo em {@code literalura.lote.saida}. A saída é bufferizada e
+ * só é descarregada ao final, e a aplicação encerra com código 1 se algum
+ * comando falhar.
+ *
+ * <pre>
+ * # linhas em branco e iniciadas por # são ignoradas
+ * buscar dom casmurro
+ * salvar dom casmurro
+ * livros
+ * livros &lt;proximoCursor da linha anterior&gt;
+ * autores
+ * vivos 1850
+ * nascidos 1839
+ * falecidos 1908
+ * idiomas
+ * idioma pt
+ * </pre>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "literalura.lote.habilitado", havingValue = "true")
+public class ExecutorLote implements CommandLineRunner {
+
+    private static final int TAMANHO_BUFFER_SAIDA = 64 * 1024;
+
+    private static final int TAMANHO_PAGINA = 100;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Value("${literalura.lote.arquivo:}")
+    private String arquivo;
+
+    @Value("${literalura.lote.saida:}")
+    private String saida;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long inicio = System.nanoTime();
+        int comandos = 0;
+        int falhas = 0;
+
+        try (BufferedReader entrada = abrirEntrada();
+                OutputStream destino = abrirSaida()) {
+            Iterator<String> linhas = entrada != null
+                    ? entrada.lines().iterator()
+                    : Arrays.stream(args).filter(arg -> !arg.startsWith("--")).iterator();
+
+            int numeroLinha = 0;
+            while (linhas.hasNext()) {
+                String linha = linhas.next().trim();
+                numeroLinha++;
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                ResultadoComandoDTO resultado = executar(numeroLinha, linha);
+                comandos++;
+                if (!resultado.ok()) {
+                    falhas++;
+                }
+                destino.write(objectMapper.writeValueAsBytes(resultado));
+                destino.write('\n');
+            }
+            destino.flush();
+        }
+
+        System.err.printf("Lote concluído: %d comando(s), %d falha(s) em %d ms%n",
+                comandos, falhas, (System.nanoTime() - inicio) / 1_000_000);
+
+        int codigoSaida = falhas > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(contexto, () -> codigoSaida));
+    }
+
+    private ResultadoComandoDTO executar(int numeroLinha, String linha) {
+        long inicio = System.nanoTime();
+        String[] partes = linha.split("\\s+", 2);
+        String comando = partes[0].toLowerCase();
+        String argumento = partes.length > 1 ? partes[1] : "";
+        try {
+            Object resultado = switch (comando) {
+                case "buscar" -> livroService.buscarNaApi(exigir(argumento, "título")).resultados();
+                case "salvar" -> salvar(exigir(argumento, "título"));
+                case "livros" -> livroService.listarLivros(cursor(argumento), TAMANHO_PAGINA);
+                case "autores" -> livroService.listarAutores(cursor(argumento), TAMANHO_PAGINA);
+                case "vivos" -> livroService.buscarAutoresVivosEmAno(ano(argumento));
+                case "nascidos" -> livroService.buscarAutoresNascidosEmAno(ano(argumento));
+                case "falecidos" -> livroService.buscarAutoresPorAnoMorte(ano(argumento));
+                case "idiomas" -> livroService.contarPorIdioma();
+                case "idioma" -> livroService.buscarPorIdioma(exigir(argumento, "idioma"));
+                default -> throw new IllegalArgumentException("Comando desconhecido: " + comando);
+            };
+            return new ResultadoComandoDTO(numeroLinha, linha, true, resultado, null, duracaoMs(inicio));
+        } catch (Exception e) {
+            return new ResultadoComandoDTO(numeroLinha, linha, false, null, e.getMessage(), duracaoMs(inicio));
+        }
+    }
+
+    /**
+     * Equivalente às opções 1 + escolha do menu: salva o primeiro resultado da
+     * busca pelo título.
+     */
+    private LivroResumoDTO salvar(String titulo) {
+        List<LivroDTO> resultados = livroService.buscarNaApi(titulo).resultados();
+        if (resultados == null || resultados.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum livro encontrado para: " + titulo);
+        }
+        Livro livro = livroService.salvarLivro(resultados.get(0));
+        return new LivroResumoDTO(livro.getId(), livro.getTitulo(), livro.getIdioma(), livro.getNumeroDownloads());
+    }
+
+    private String exigir(String argumento, String nome) {
+        if (argumento.isBlank()) {
+            throw new IllegalArgumentException("Informe o " + nome);
+        }
+        return argumento;
+    }
+
+    private Integer ano(String argumento) {
+        if (!argumento.matches("-?\\d+")) {
+            throw new IllegalArgumentException("Ano inválido: " + argumento);
+        }
+        return Integer.valueOf(argumento);
+    }
+
+    // Listagens paginadas: o argumento opcional é o proximoCursor da linha anterior
+    private String cursor(String argumento) {
+        return argumento.isBlank() ? null : argumento;
+    }
+
+    private long duracaoMs(long inicio) {
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+
+    private BufferedReader abrirEntrada() throws IOException {
+        if (arquivo.isBlank()) {
+            return null;
+        }
+        if (arquivo.equals("-")) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(Path.of(arquivo), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escreve direto no descritor da saída padrão: o {@code System.out} faz flush
+     * a cada linha, o que domina o custo em lotes grandes.
+     */
+    private OutputStream abrirSaida() throws IOException {
+        if (saida.isBlank()) {
+            // Fechar o lote não pode fechar o descritor, que continua em uso pelo System.out
+            FileOutputStream saidaPadrao = new FileOutputStream(FileDescriptor.out) {
+                @Override
+                public void close() {
+                }
+            };
+            return new BufferedOutputStream(saidaPadrao, TAMANHO_BUFFER_SAIDA);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(Path.of(saida)), TAMANHO_BUFFER_SAIDA);
+    }
+}
@@ -1,36 +1,37 @@
 package com.jciterceros.literalura.principal;
 
+import com.jciterceros.literalura.dto.AutorResumoDTO;
+import com.jciterceros.literalura.dto.ContagemIdiomaDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
 import com.jciterceros.literalura.model.Autor;
 import com.jciterceros.literalura.model.Livro;
 import com.jciterceros.literalura.service.LivroService;
-import com.jciterceros.literalura.service.ConsumoAPI;
-import com.jciterceros.literalura.service.ConverteDados;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.Scanner;
 
 @Component
-@Order(2)
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "literalura.cli.habilitado", havingValue = "true", matchIfMissing = true)
 public class Principal implements CommandLineRunner {
 
     @Autowired
     private LivroService livroService;
 
-    @Autowired
-    private ConsumoAPI consumoAPI;
-
-    @Autowired
-    private ConverteDados converteDados;
-
     private final Scanner scanner = new Scanner(System.in);
-    private final String URL_BASE = "https://gutendex.com/books/";
 
     @Override
     public void run(String... args) throws Exception {
+        // Tempo até o primeiro prompt, contado desde o início da JVM
+        long inicioJvm = ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.printf("Pronto em %d ms%n", System.currentTimeMillis() - inicioJvm);
         exibirMenu();
     }
 
@@ -101,14 +102,8 @@ public class Principal implements CommandLineRunner {
 
         try {
             // Buscar na API
-            String url = URL_BASE + "?search=" + titulo.replace(" ", "%20");
-            System.out.println("Buscando em: " + url);
-
-            String json = consumoAPI.obterDados(url);
-            System.out.println("Resposta da API recebida. Tamanho: " + json.length() + " caracteres");
-
-            // Converter para DTO
-            var resposta = converteDados.obterDados(json, com.jciterceros.literalura.dto.RespostaDTO.class);
+            System.out.println("Buscando no Gutendex: " + titulo);
+            var resposta = livroService.buscarNaApi(titulo);
             System.out.println("Conversão realizada. Resultados encontrados: " + resposta.resultados().size());
 
             if (resposta.resultados().isEmpty()) {
@@ -260,7 +255,7 @@ public class Principal implements CommandLineRunner {
             }
 
             int ano = Integer.parseInt(entrada);
-            List<Autor> autores = livroService.buscarAutoresVivosEmAno(ano);
+            List<AutorResumoDTO> autores = livroService.buscarAutoresVivosEmAno(ano);
 
             if (autores.isEmpty()) {
                 System.out.println("Nenhum autor vivo encontrado para o ano " + ano + "!");
@@ -270,12 +265,12 @@ public class Principal implements CommandLineRunner {
             System.out.println("\nAutores vivos em " + ano + ":");
             autores.forEach(autor -> {
                 String anos = "";
-                if (autor.getAnoNascimento() != null && autor.getAnoFalecimento() != null) {
-                    anos = String.format(" (%d-%d)", autor.getAnoNascimento(), autor.getAnoFalecimento());
-                } else if (autor.getAnoNascimento() != null) {
-                    anos = String.format(" (n. %d)", autor.getAnoNascimento());
+                if (autor.anoNascimento() != null && autor.anoFalecimento() != null) {
+                    anos = String.format(" (%d-%d)", autor.anoNascimento(), autor.anoFalecimento());
+                } else if (autor.anoNascimento() != null) {
+                    anos = String.format(" (n. %d)", autor.anoNascimento());
                 }
-                System.out.printf("- %s%s%n", autor.getNome(), anos);
+                System.out.printf("- %s%s%n", autor.nome(), anos);
             });
         } catch (NumberFormatException e) {
             System.out.println(" Entrada inválida! Digite apenas números.");
@@ -294,7 +289,7 @@ public class Principal implements CommandLineRunner {
             }
 
             int ano = Integer.parseInt(entrada);
-            List<Autor> autores = livroService.buscarAutoresNascidosEmAno(ano);
+            List<AutorResumoDTO> autores = livroService.buscarAutoresNascidosEmAno(ano);
 
             if (autores.isEmpty()) {
                 System.out.println("Nenhum autor nascido em " + ano + " encontrado!");
@@ -304,10 +299,10 @@ public class Principal implements CommandLineRunner {
             System.out.println("\nAutores nascidos em " + ano + ":");
             autores.forEach(autor -> {
                 String anos = "";
-                if (autor.getAnoFalecimento() != null) {
-                    anos = String.format(" (fal. %d)", autor.getAnoFalecimento());
+                if (autor.anoFalecimento() != null) {
+                    anos = String.format(" (fal. %d)", autor.anoFalecimento());
                 }
-                System.out.printf("- %s%s%n", autor.getNome(), anos);
+                System.out.printf("- %s%s%n", autor.nome(), anos);
             });
         } catch (NumberFormatException e) {
             System.out.println(" Entrada inválida! Digite apenas números.");
@@ -326,7 +321,7 @@ public class Principal implements CommandLineRunner {
             }
 
             int ano = Integer.parseInt(entrada);
-            List<Autor> autores = livroService.buscarAutoresPorAnoMorte(ano);
+            List<AutorResumoDTO> autores = livroService.buscarAutoresPorAnoMorte(ano);
 
             if (autores.isEmpty()) {
                 System.out.println("Nenhum autor falecido em " + ano + " encontrado!");
@@ -336,10 +331,10 @@ public class Principal implements CommandLineRunner {
             System.out.println("\nAutores falecidos em " + ano + ":");
             autores.forEach(autor -> {
                 String anos = "";
-                if (autor.getAnoNascimento() != null) {
-                    anos = String.format(" (n. %d)", autor.getAnoNascimento());
+                if (autor.anoNascimento() != null) {
+                    anos = String.format(" (n. %d)", autor.anoNascimento());
                 }
-                System.out.printf("- %s%s%n", autor.getNome(), anos);
+                System.out.printf("- %s%s%n", autor.nome(), anos);
             });
         } catch (NumberFormatException e) {
             System.out.println(" Entrada inválida! Digite apenas números.");
@@ -349,19 +344,19 @@ public class Principal implements CommandLineRunner {
     }
 
     private void listarLivrosPorIdioma() {
-        List<String> idiomas = livroService.buscarIdiomasDisponiveis();
+        List<ContagemIdiomaDTO> idiomas = livroService.contarPorIdioma();
         if (idiomas.isEmpty()) {
             System.out.println("Nenhum idioma disponível!");
             return;
         }
 
         System.out.println("\nIdiomas disponíveis:");
-        idiomas.forEach(System.out::println);
+        idiomas.forEach(contagem -> System.out.printf("%s (%d livro(s))%n", contagem.idioma(), contagem.quantidade()));
 
         System.out.print("Digite o idioma: ");
         String idioma = scanner.nextLine();
 
-        List<Livro> livros = livroService.buscarPorIdioma(idioma);
+        List<LivroResumoDTO> livros = livroService.buscarPorIdioma(idioma);
         if (livros.isEmpty()) {
             System.out.println("Nenhum livro encontrado para este idioma!");
             return;
@@ -370,7 +365,7 @@ public class Principal implements CommandLineRunner {
         System.out.println("\nLivros em " + idioma + ":");
         livros.forEach(livro -> {
             System.out.printf("- %s (Downloads: %d)%n",
-                    livro.getTitulo(), livro.getNumeroDownloads());
+                    livro.titulo(), livro.numeroDownloads());
         });
     }
 
@@ -1,17 +1,16 @@
 package com.jciterceros.literalura.repository;
 
+import com.jciterceros.literalura.dto.AutorResumoDTO;
 import com.jciterceros.literalura.model.Autor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface AutorRepository extends JpaRepository<Autor, Long> {
-
-    Optional<Autor> findByNomeContainingIgnoreCase(String nome);
+public interface AutorRepository extends JpaRepository<Autor, Long>, AutorRepositoryCustom {
 
     @Query("SELECT a FROM Autor a WHERE a.anoFalecimento IS NULL")
     List<Autor> buscarAutoresVivos();
@@ -27,4 +26,9 @@ public interface AutorRepository extends JpaRepository<Autor, Long> {
 
     @Query("SELECT a FROM Autor a WHERE a.anoFalecimento = :ano")
     List<Autor> buscarAutoresPorAnoMorte(Integer ano);
+
+    List<Autor> findByIdGreaterThanOrderByIdAsc(Long apos, Limit limite);
+
+    @Query("SELECT new com.jciterceros.literalura.dto.AutorResumoDTO(a.id, a.nome, a.anoNascimento, a.anoFalecimento) FROM Autor a")
+    List<AutorResumoDTO> buscarResumos();
 }
\ No newline at end of file
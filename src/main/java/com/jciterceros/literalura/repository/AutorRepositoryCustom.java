@@ -0,0 +1,22 @@
+package com.jciterceros.literalura.repository;
+
+import com.jciterceros.literalura.model.Autor;
+
+import java.util.Collection;
+
+/**
+ * Operações do {@link AutorRepository} escritas direto em SQL.
+ */
+public interface AutorRepositoryCustom {
+
+    /**
+     * Garante uma linha por nome normalizado: os autores ainda ausentes são
+     * inseridos com {@code MERGE} sobre o índice único de {@code nome_normalizado}
+     * e cada autor informado recebe o id da linha correspondente, nova ou já
+     * existente, inclusive quando outra transação grava o mesmo autor ao mesmo
+     * tempo.
+     *
+     * @throws IllegalArgumentException se algum nome for vazio depois de normalizado
+     */
+    void inserirSeAusentes(Collection<Autor> autores);
+}
@@ -0,0 +1,108 @@
+package com.jciterceros.literalura.repository;
+
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.util.NormalizadorTexto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementação de {@link AutorRepositoryCustom} em JDBC, na conexão da sessão
+ * do Hibernate (e portanto na mesma transação).
+ */
+class AutorRepositoryCustomImpl implements AutorRepositoryCustom {
+
+    private static final int TAMANHO_MAXIMO_CONSULTA_IN = 1000;
+
+    private static final String MERGE_AUTOR = """
+            MERGE INTO autores a
+            USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS INTEGER),
+                           CAST(? AS INTEGER)))
+                AS n (nome_normalizado, nome, ano_nascimento, ano_falecimento)
+            ON a.nome_normalizado = n.nome_normalizado
+            WHEN NOT MATCHED THEN
+                INSERT (id, nome_normalizado, nome, ano_nascimento, ano_falecimento)
+                VALUES (NEXT VALUE FOR autores_seq, n.nome_normalizado, n.nome, n.ano_nascimento,
+                        n.ano_falecimento)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void inserirSeAusentes(Collection<Autor> autores) {
+        Map<String, List<Autor>> porNome = new TreeMap<>();
+        for (Autor autor : autores) {
+            String nome = NormalizadorTexto.normalizarNomeAutor(autor.getNome());
+            if (nome.isEmpty()) {
+                throw new IllegalArgumentException("Nome de autor em branco: '" + autor.getNome() + "'");
+            }
+            porNome.computeIfAbsent(nome, chave -> new ArrayList<>()).add(autor);
+        }
+        if (porNome.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(conexao -> {
+            mesclar(conexao, porNome);
+            atribuirIds(conexao, porNome);
+        });
+    }
+
+    /**
+     * Um {@code MERGE} por autor, em ordem de nome normalizado (ver
+     * {@link ConflitoChave}); o comando é idempotente e, repetido, encontra o autor
+     * que outra transação acabou de confirmar.
+     */
+    private void mesclar(Connection conexao, Map<String, List<Autor>> porNome) throws SQLException {
+        try (PreparedStatement merge = conexao.prepareStatement(MERGE_AUTOR)) {
+            for (Map.Entry<String, List<Autor>> entrada : porNome.entrySet()) {
+                Autor autor = entrada.getValue().get(0);
+                merge.setString(1, entrada.getKey());
+                merge.setString(2, autor.getNome());
+                inteiro(merge, 3, autor.getAnoNascimento());
+                inteiro(merge, 4, autor.getAnoFalecimento());
+                ConflitoChave.repetirEnquantoHouver(merge::executeUpdate);
+            }
+        }
+    }
+
+    private void atribuirIds(Connection conexao, Map<String, List<Autor>> porNome) throws SQLException {
+        List<String> nomes = new ArrayList<>(porNome.keySet());
+        for (int i = 0; i < nomes.size(); i += TAMANHO_MAXIMO_CONSULTA_IN) {
+            List<String> bloco = nomes.subList(i, Math.min(i + TAMANHO_MAXIMO_CONSULTA_IN, nomes.size()));
+            String marcadores = String.join(", ", Collections.nCopies(bloco.size(), "?"));
+            try (PreparedStatement consulta = conexao.prepareStatement(
+                    "SELECT id, nome_normalizado FROM autores WHERE nome_normalizado IN (" + marcadores + ")")) {
+                for (int j = 0; j < bloco.size(); j++) {
+                    consulta.setString(j + 1, bloco.get(j));
+                }
+                try (ResultSet linhas = consulta.executeQuery()) {
+                    while (linhas.next()) {
+                        long id = linhas.getLong(1);
+                        porNome.get(linhas.getString(2)).forEach(autor -> autor.setId(id));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void inteiro(PreparedStatement comando, int indice, Integer valor) throws SQLException {
+        if (valor == null) {
+            comando.setNull(indice, Types.INTEGER);
+        } else {
+            comando.setInt(indice, valor);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.jciterceros.literalura.repository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Conflitos de chave única entre transações concorrentes. No H2, um insert cuja
+ * chave única foi inserida por outra transação ainda não confirmada falha na hora
+ * (violação de unicidade), em vez de esperar por ela; depois do commit da outra,
+ * o mesmo {@code MERGE} encontra a linha. Os comandos são então repetidos, com
+ * espera crescente, até a outra transação terminar ou o limite de espera passar.
+ * <p>
+ * Para que duas transações não esperem uma pela outra, as chaves são gravadas
+ * sempre na mesma ordem: livro, autores por nome normalizado, contagens por
+ * idioma.
+ */
+final class ConflitoChave {
+
+    // SQLSTATE de violação de chave única
+    private static final String VIOLACAO_UNICIDADE = "23505";
+
+    // Código do H2 para "Concurrent update"
+    private static final int ATUALIZACAO_CONCORRENTE = 90131;
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(10);
+    private static final long PAUSA_MAXIMA_MS = 100;
+
+    @FunctionalInterface
+    interface ComandoSql<T> {
+        T executar() throws SQLException;
+    }
+
+    private ConflitoChave() {
+    }
+
+    static <T> T repetirEnquantoHouver(ComandoSql<T> comando) throws SQLException {
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        long pausaMs = 5;
+        while (true) {
+            try {
+                return comando.executar();
+            } catch (SQLException e) {
+                if (!ocorreu(e) || System.nanoTime() > limite) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(pausaMs);
+                } catch (InterruptedException interrupcao) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                pausaMs = Math.min(pausaMs * 2, PAUSA_MAXIMA_MS);
+            }
+        }
+    }
+
+    static boolean ocorreu(SQLException erro) {
+        for (SQLException atual = erro; atual != null; atual = atual.getNextException()) {
+            if (VIOLACAO_UNICIDADE.equals(atual.getSQLState()) || atual.getErrorCode() == ATUALIZACAO_CONCORRENTE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jciterceros.literalura.repository;
+
+import com.jciterceros.literalura.dto.ContagemIdiomaDTO;
+import com.jciterceros.literalura.model.ContagemIdioma;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ContagemIdiomaRepository extends JpaRepository<ContagemIdioma, String>, ContagemIdiomaRepositoryCustom {
+
+    /**
+     * Soma aos totais do idioma no próprio UPDATE, sem ler a linha antes.
+     *
+     * @return 1 se o idioma já tinha contagem, 0 caso contrário
+     */
+    @Modifying
+    @Query("UPDATE ContagemIdioma c SET c.quantidade = c.quantidade + :quantidade, "
+            + "c.totalDownloads = c.totalDownloads + :downloads WHERE c.idioma = :idioma")
+    int incrementar(String idioma, long quantidade, long downloads);
+
+    @Query("SELECT new com.jciterceros.literalura.dto.ContagemIdiomaDTO(c.idioma, c.quantidade, c.totalDownloads) "
+            + "FROM ContagemIdioma c ORDER BY c.quantidade DESC, c.idioma ASC")
+    List<ContagemIdiomaDTO> buscarContagens();
+}
@@ -0,0 +1,15 @@
+package com.jciterceros.literalura.repository;
+
+/**
+ * Operações do {@link ContagemIdiomaRepository} escritas direto em SQL.
+ */
+public interface ContagemIdiomaRepositoryCustom {
+
+    /**
+     * Soma aos totais do idioma, criando a linha se for o primeiro livro nele, em
+     * um único {@code MERGE}. Duas transações que gravam o primeiro livro de um
+     * idioma ao mesmo tempo não falham: a segunda espera a primeira terminar e
+     * soma sobre a linha criada por ela.
+     */
+    void incrementarOuCriar(String idioma, long quantidade, long downloads);
+}
@@ -0,0 +1,41 @@
+package com.jciterceros.literalura.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Implementação de {@link ContagemIdiomaRepositoryCustom} em JDBC, na conexão da
+ * sessão do Hibernate (e portanto na mesma transação).
+ */
+class ContagemIdiomaRepositoryCustomImpl implements ContagemIdiomaRepositoryCustom {
+
+    private static final String MERGE_CONTAGEM = """
+            MERGE INTO contagem_idioma c
+            USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS BIGINT)))
+                AS n (idioma, quantidade, total_downloads)
+            ON c.idioma = n.idioma
+            WHEN MATCHED THEN
+                UPDATE SET quantidade = c.quantidade + n.quantidade,
+                           total_downloads = c.total_downloads + n.total_downloads
+            WHEN NOT MATCHED THEN
+                INSERT (idioma, quantidade, total_downloads) VALUES (n.idioma, n.quantidade, n.total_downloads)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void incrementarOuCriar(String idioma, long quantidade, long downloads) {
+        entityManager.unwrap(Session.class).doWork(conexao -> {
+            try (PreparedStatement merge = conexao.prepareStatement(MERGE_CONTAGEM)) {
+                merge.setString(1, idioma);
+                merge.setLong(2, quantidade);
+                merge.setLong(3, downloads);
+                ConflitoChave.repetirEnquantoHouver(merge::executeUpdate);
+            }
+        });
+    }
+}
@@ -1,23 +1,110 @@
 package com.jciterceros.literalura.repository;
 
+import com.jciterceros.literalura.dto.ContagemIdiomaDTO;
+import com.jciterceros.literalura.dto.LinhaCatalogoDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
 import com.jciterceros.literalura.model.Livro;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LivroRepository extends JpaRepository<Livro, Long> {
+public interface LivroRepository extends JpaRepository<Livro, Long>, LivroRepositoryCustom {
 
-    Optional<Livro> findByTituloContainingIgnoreCase(String titulo);
+    @Override
+    @EntityGraph(Livro.GRAFO_AUTORES)
+    List<Livro> findAll();
 
-    List<Livro> findTop5ByOrderByNumeroDownloadsDesc();
+    /**
+     * Busca exata pelo índice único da chave natural ({@link Livro#chaveNatural}).
+     */
+    @EntityGraph(Livro.GRAFO_AUTORES)
+    Optional<Livro> findByChaveNatural(String chaveNatural);
 
-    @Query("SELECT l FROM Livro l WHERE l.idioma ILIKE %:idioma%")
-    List<Livro> buscarPorIdioma(String idioma);
+    /**
+     * Igualdade no índice de idioma; o código deve vir normalizado
+     * ({@link Livro#normalizarIdioma}).
+     */
+    @Query("SELECT new com.jciterceros.literalura.dto.LivroResumoDTO(l.id, l.titulo, l.idioma, l.numeroDownloads) "
+            + "FROM Livro l WHERE l.idioma = :idioma")
+    List<LivroResumoDTO> buscarPorIdioma(String idioma);
 
+    /**
+     * Contagem por idioma calculada sobre a tabela inteira; usada só para
+     * reconstruir a tabela contagem_idioma.
+     */
+    @Query("SELECT new com.jciterceros.literalura.dto.ContagemIdiomaDTO(l.idioma, COUNT(l), "
+            + "COALESCE(SUM(l.numeroDownloads), 0)) FROM Livro l WHERE l.idioma IS NOT NULL GROUP BY l.idioma")
+    List<ContagemIdiomaDTO> contarPorIdioma();
+
+    /**
+     * Das chaves naturais informadas, as que já estão cadastradas.
+     */
+    @Query("SELECT l.chaveNatural FROM Livro l WHERE l.chaveNatural IN :chaves")
+    List<String> buscarChavesExistentes(Collection<String> chaves);
+
+    // Cache de consultas: o resultado só é descartado quando a tabela livros muda
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT l.idioma FROM Livro l")
     List<String> buscarIdiomasDisponiveis();
-}
\ No newline at end of file
+
+    /**
+     * Carrega os livros com seus autores em uma única consulta. As listagens
+     * limitadas primeiro selecionam os ids da página e depois chamam este método,
+     * porque limitar uma consulta com fetch de coleção obriga o Hibernate a
+     * paginar em memória.
+     */
+    @EntityGraph(Livro.GRAFO_AUTORES)
+    @Query("SELECT l FROM Livro l WHERE l.id IN :ids")
+    List<Livro> buscarComAutores(Collection<Long> ids);
+
+    /**
+     * Percorre o catálogo inteiro como linhas livro × autor, ordenadas por livro,
+     * sem carregar entidades. Deve ser consumido dentro de uma transação e fechado
+     * ao final. O driver busca as linhas em blocos em vez de materializar tudo.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.jciterceros.literalura.dto.LinhaCatalogoDTO(l.id, l.titulo, l.idioma, l.numeroDownloads, a.nome) "
+            + "FROM Livro l LEFT JOIN l.autores a ORDER BY l.id")
+    Stream<LinhaCatalogoDTO> percorrerCatalogo();
+
+    // Ranking de downloads (projeções, sem autores)
+
+    @Query("SELECT new com.jciterceros.literalura.dto.LivroResumoDTO(l.id, l.titulo, l.idioma, l.numeroDownloads) "
+            + "FROM Livro l WHERE l.numeroDownloads IS NOT NULL")
+    Stream<LivroResumoDTO> percorrerResumos();
+
+    @Query("SELECT new com.jciterceros.literalura.dto.LivroResumoDTO(l.id, l.titulo, l.idioma, l.numeroDownloads) "
+            + "FROM Livro l WHERE l.numeroDownloads IS NOT NULL ORDER BY l.numeroDownloads DESC, l.id ASC")
+    List<LivroResumoDTO> buscarResumosMaisBaixados(Limit limite);
+
+    @Query("SELECT new com.jciterceros.literalura.dto.LivroResumoDTO(l.id, l.titulo, l.idioma, l.numeroDownloads) "
+            + "FROM Livro l WHERE l.idioma = :idioma AND l.numeroDownloads IS NOT NULL "
+            + "ORDER BY l.numeroDownloads DESC, l.id ASC")
+    List<LivroResumoDTO> buscarResumosMaisBaixadosPorIdioma(String idioma, Limit limite);
+
+    // Paginação por cursor (keyset): cada página parte do último id da anterior
+
+    @Query("SELECT l.id FROM Livro l WHERE l.id > :apos ORDER BY l.id")
+    List<Long> buscarIdsApos(Long apos, Limit limite);
+
+    @Query("SELECT l.id FROM Livro l WHERE l.idioma = :idioma AND l.id > :apos ORDER BY l.id")
+    List<Long> buscarIdsPorIdiomaApos(String idioma, Long apos, Limit limite);
+
+    @Query("SELECT l.id FROM Livro l WHERE l.numeroDownloads IS NOT NULL ORDER BY l.numeroDownloads DESC, l.id ASC")
+    List<Long> buscarIdsMaisBaixados(Limit limite);
+
+    @Query("SELECT l.id FROM Livro l WHERE l.numeroDownloads < :downloads "
+            + "OR (l.numeroDownloads = :downloads AND l.id > :apos) ORDER BY l.numeroDownloads DESC, l.id ASC")
+    List<Long> buscarIdsMaisBaixadosApos(Integer downloads, Long apos, Limit limite);
+}
@@ -0,0 +1,31 @@
+package com.jciterceros.literalura.repository;
+
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Operações do {@link LivroRepository} escritas direto em SQL.
+ */
+public interface LivroRepositoryCustom {
+
+    /**
+     * Insere a linha do livro, sem os autores, a menos que já exista um livro com
+     * a mesma chave natural. A verificação e o insert são um único {@code MERGE}
+     * sobre o índice único da chave; se outra transação ainda não confirmada
+     * estiver gravando a mesma chave, o comando espera por ela, então duas
+     * gravações simultâneas do mesmo livro resultam em uma linha e a perdedora não
+     * escreve nada.
+     *
+     * @return o id do livro inserido, ou vazio se a chave já existia
+     */
+    Optional<Long> inserirSeAusente(Livro livro);
+
+    /**
+     * Grava os vínculos {@code livro_autor} de um livro inserido por
+     * {@link #inserirSeAusente}. Os autores precisam já ter id.
+     */
+    void vincularAutores(Long livroId, Collection<Autor> autores);
+}
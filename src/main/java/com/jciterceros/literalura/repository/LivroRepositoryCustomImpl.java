@@ -0,0 +1,119 @@
+package com.jciterceros.literalura.repository;
+
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementação de {@link LivroRepositoryCustom} em JDBC, na conexão da sessão
+ * do Hibernate (e portanto na mesma transação).
+ */
+class LivroRepositoryCustomImpl implements LivroRepositoryCustom {
+
+    private static final String MERGE_LIVRO = """
+            MERGE INTO livros l
+            USING (VALUES (CAST(? AS VARCHAR(300)), CAST(? AS BIGINT), CAST(? AS VARCHAR(255)),
+                           CAST(? AS VARCHAR(255)), CAST(? AS INTEGER)))
+                AS n (chave_natural, gutendex_id, titulo, idioma, numero_downloads)
+            ON l.chave_natural = n.chave_natural
+            WHEN NOT MATCHED THEN
+                INSERT (id, chave_natural, gutendex_id, titulo, idioma, numero_downloads)
+                VALUES (NEXT VALUE FOR livros_seq, n.chave_natural, n.gutendex_id, n.titulo, n.idioma,
+                        n.numero_downloads)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Long> inserirSeAusente(Livro livro) {
+        String chave = Livro.chaveNatural(livro.getGutendexId(), livro.getIdioma(), livro.getTitulo());
+        Session sessao = entityManager.unwrap(Session.class);
+        sessao.flush();
+
+        Optional<Long> inserido = sessao.doReturningWork(conexao -> {
+            try (PreparedStatement merge = conexao.prepareStatement(MERGE_LIVRO)) {
+                merge.setString(1, chave);
+                if (livro.getGutendexId() != null) {
+                    merge.setLong(2, livro.getGutendexId());
+                } else {
+                    merge.setNull(2, Types.BIGINT);
+                }
+                merge.setString(3, livro.getTitulo());
+                merge.setString(4, livro.getIdioma());
+                if (livro.getNumeroDownloads() != null) {
+                    merge.setInt(5, livro.getNumeroDownloads());
+                } else {
+                    merge.setNull(5, Types.INTEGER);
+                }
+                // Repetido até a transação que grava a mesma chave terminar; aí o MERGE a encontra
+                if (ConflitoChave.repetirEnquantoHouver(merge::executeUpdate) == 0) {
+                    return Optional.empty();
+                }
+            }
+
+            try (PreparedStatement consulta = conexao.prepareStatement(
+                    "SELECT id FROM livros WHERE chave_natural = ?")) {
+                consulta.setString(1, chave);
+                try (ResultSet resultado = consulta.executeQuery()) {
+                    resultado.next();
+                    return Optional.of(resultado.getLong(1));
+                }
+            }
+        });
+
+        inserido.ifPresent(id -> descartarConsultasEmCache());
+        return inserido;
+    }
+
+    @Override
+    public void vincularAutores(Long livroId, Collection<Autor> autores) {
+        Set<Long> ids = new LinkedHashSet<>();
+        autores.stream().map(Autor::getId).forEach(ids::add);
+        if (ids.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(conexao -> {
+            try (PreparedStatement vinculo = conexao.prepareStatement(
+                    "INSERT INTO livro_autor (livro_id, autor_id) VALUES (?, ?)")) {
+                for (Long autorId : ids) {
+                    vinculo.setLong(1, livroId);
+                    vinculo.setLong(2, autorId);
+                    vinculo.addBatch();
+                }
+                vinculo.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * O insert não passou pelo Hibernate, que por isso não invalida os resultados
+     * de consultas em cache sobre livros; eles são descartados após o commit.
+     */
+    private void descartarConsultasEmCache() {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sessionFactory.getCache().evictDefaultQueryRegion();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionFactory.getCache().evictDefaultQueryRegion();
+            }
+        });
+    }
+}
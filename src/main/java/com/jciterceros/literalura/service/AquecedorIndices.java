@@ -0,0 +1,31 @@
+package com.jciterceros.literalura.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(3)
+public class AquecedorIndices implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecedorIndices.class);
+
+    @Autowired
+    private List<IndiceEmMemoria> indices;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Roda depois do DataLoader, para que os seeds já estejam no banco
+        for (IndiceEmMemoria indice : indices) {
+            long inicio = System.nanoTime();
+            indice.recarregar();
+            log.info("Índice {} carregado em {} ms", indice.getClass().getSimpleName(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.dto.RelatorioDownloadsDTO;
+import com.jciterceros.literalura.dto.RespostaDTO;
+import com.jciterceros.literalura.exception.AtualizacaoEmAndamentoException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Atualiza o número de downloads dos livros que têm id do Gutendex. Os livros
+ * são lidos do banco em blocos por id; cada bloco é consultado no Gutendex pelo
+ * filtro {@code ids} (32 ids por requisição, o tamanho de página do Gutendex) e
+ * só as linhas cujo número mudou são gravadas, em um lote JDBC por bloco.
+ * <p>
+ * Depois de cada bloco, o ranking, o índice de títulos, as contagens por idioma
+ * e o cache de segundo nível recebem apenas os livros alterados.
+ */
+@Service
+public class AtualizadorDownloads {
+
+    private static final Logger log = LoggerFactory.getLogger(AtualizadorDownloads.class);
+
+    private static final int LIVROS_POR_BLOCO = 1000;
+    private static final int IDS_POR_REQUISICAO = 32;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private ContagemIdiomas contagemIdiomas;
+
+    @Autowired
+    private RankingDownloads rankingDownloads;
+
+    @Autowired
+    private IndiceTitulos indiceTitulos;
+
+    @Autowired
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    private TransactionTemplate transacao;
+
+    private final AtomicBoolean emAndamento = new AtomicBoolean();
+
+    private record LivroGutendex(long id, long gutendexId, String titulo, String idioma, Integer numeroDownloads) {
+    }
+
+    private record Alteracao(LivroGutendex livro, int numeroDownloads) {
+    }
+
+    @PostConstruct
+    void inicializar() {
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    // "-" (padrão) desativa o agendamento
+    @Scheduled(cron = "${literalura.downloads.cron:-}")
+    public void atualizacaoAgendada() {
+        try {
+            atualizar();
+        } catch (AtualizacaoEmAndamentoException e) {
+            log.info("Atualização agendada de downloads ignorada: {}", e.getMessage());
+        }
+    }
+
+    public RelatorioDownloadsDTO atualizar() {
+        if (!emAndamento.compareAndSet(false, true)) {
+            throw new AtualizacaoEmAndamentoException();
+        }
+        try {
+            long inicio = System.nanoTime();
+            long verificados = 0;
+            long requisicoes = 0;
+            long alterados = 0;
+            long naoEncontrados = 0;
+            long falhas = 0;
+
+            long cursor = 0;
+            while (true) {
+                List<LivroGutendex> bloco = jdbcTemplate.query(
+                        "SELECT id, gutendex_id, titulo, idioma, numero_downloads FROM livros "
+                                + "WHERE gutendex_id IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                        (linha, numero) -> new LivroGutendex(linha.getLong(1), linha.getLong(2), linha.getString(3),
+                                linha.getString(4), linha.getObject(5, Integer.class)),
+                        cursor, LIVROS_POR_BLOCO);
+                if (bloco.isEmpty()) {
+                    break;
+                }
+                cursor = bloco.get(bloco.size() - 1).id();
+
+                Map<Long, LivroGutendex> porGutendexId = new LinkedHashMap<>();
+                bloco.forEach(livro -> porGutendexId.put(livro.gutendexId(), livro));
+                List<Long> ids = new ArrayList<>(porGutendexId.keySet());
+                List<Alteracao> alteracoes = new ArrayList<>();
+
+                for (int i = 0; i < ids.size(); i += IDS_POR_REQUISICAO) {
+                    List<Long> consulta = ids.subList(i, Math.min(i + IDS_POR_REQUISICAO, ids.size()));
+                    requisicoes++;
+                    RespostaDTO resposta;
+                    try {
+                        resposta = livroService.buscarNaApiPorIds(consulta);
+                    } catch (RuntimeException e) {
+                        falhas += consulta.size();
+                        log.warn("Falha ao consultar downloads de {} livro(s): {}", consulta.size(), e.getMessage());
+                        continue;
+                    }
+                    List<LivroDTO> remotos = resposta.resultados() != null ? resposta.resultados() : List.of();
+                    int encontrados = 0;
+                    for (LivroDTO remoto : remotos) {
+                        LivroGutendex local = porGutendexId.get(remoto.gutendexId());
+                        if (local == null) {
+                            continue;
+                        }
+                        encontrados++;
+                        if (remoto.numeroDownloads() != null
+                                && !Objects.equals(remoto.numeroDownloads(), local.numeroDownloads())) {
+                            alteracoes.add(new Alteracao(local, remoto.numeroDownloads()));
+                        }
+                    }
+                    verificados += encontrados;
+                    naoEncontrados += consulta.size() - encontrados;
+                }
+
+                aplicar(alteracoes);
+                alterados += alteracoes.size();
+            }
+
+            RelatorioDownloadsDTO relatorio = new RelatorioDownloadsDTO(verificados, requisicoes, alterados,
+                    naoEncontrados, falhas, (System.nanoTime() - inicio) / 1_000_000);
+            log.info("Downloads atualizados: {}", relatorio);
+            return relatorio;
+        } finally {
+            emAndamento.set(false);
+        }
+    }
+
+    /**
+     * Grava as alterações de um bloco e as contagens por idioma na mesma
+     * transação; os índices em memória e o cache só são atualizados depois do
+     * commit.
+     */
+    private void aplicar(List<Alteracao> alteracoes) {
+        if (alteracoes.isEmpty()) {
+            return;
+        }
+        transacao.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("UPDATE livros SET numero_downloads = ? WHERE id = ?", alteracoes,
+                    alteracoes.size(), (comando, alteracao) -> {
+                        comando.setInt(1, alteracao.numeroDownloads());
+                        comando.setLong(2, alteracao.livro().id());
+                    });
+            Map<String, Long> variacaoPorIdioma = new HashMap<>();
+            for (Alteracao alteracao : alteracoes) {
+                LivroGutendex livro = alteracao.livro();
+                if (livro.idioma() != null) {
+                    long anterior = livro.numeroDownloads() != null ? livro.numeroDownloads() : 0;
+                    variacaoPorIdioma.merge(livro.idioma(), alteracao.numeroDownloads() - anterior, Long::sum);
+                }
+            }
+            contagemIdiomas.ajustarDownloads(variacaoPorIdioma);
+        });
+
+        cacheSegundoNivel.removerLivros(alteracoes.stream().map(alteracao -> alteracao.livro().id()).toList());
+        for (Alteracao alteracao : alteracoes) {
+            LivroGutendex livro = alteracao.livro();
+            rankingDownloads.atualizarDownloads(
+                    new LivroResumoDTO(livro.id(), livro.titulo(), livro.idioma(), alteracao.numeroDownloads()));
+            indiceTitulos.atualizarDownloads(livro.id(), alteracao.numeroDownloads());
+        }
+    }
+}
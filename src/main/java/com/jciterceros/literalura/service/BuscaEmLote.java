@@ -0,0 +1,110 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.dto.RespostaDTO;
+import com.jciterceros.literalura.dto.ResultadoBuscaDTO;
+import com.jciterceros.literalura.exception.LoteInvalidoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Busca vários títulos no Gutendex em paralelo, uma thread virtual por título.
+ * Um semáforo limita quantas buscas ficam em andamento ao mesmo tempo e o
+ * {@link LimitadorTaxa} do {@link ConsumoAPI} controla o ritmo das requisições.
+ */
+@Service
+public class BuscaEmLote {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaEmLote.class);
+
+    @Autowired
+    private LivroService livroService;
+
+    @Value("${literalura.busca-lote.concorrencia:16}")
+    private int concorrencia;
+
+    @Value("${literalura.busca-lote.maximo-titulos:1000}")
+    private int maximoTitulos;
+
+    /**
+     * Remove títulos em branco e repetidos e valida o tamanho do lote. Chamado
+     * antes de iniciar a resposta, para que um lote inválido ainda resulte em 400.
+     */
+    public List<String> prepararTitulos(List<String> titulos) {
+        Set<String> distintos = new LinkedHashSet<>();
+        if (titulos != null) {
+            for (String titulo : titulos) {
+                if (titulo != null && !titulo.isBlank()) {
+                    distintos.add(titulo.trim());
+                }
+            }
+        }
+        if (distintos.isEmpty()) {
+            throw new LoteInvalidoException("Informe ao menos um título");
+        }
+        if (distintos.size() > maximoTitulos) {
+            throw new LoteInvalidoException("O lote aceita no máximo " + maximoTitulos + " títulos");
+        }
+        return List.copyOf(distintos);
+    }
+
+    /**
+     * Entrega cada resultado ao consumidor assim que a busca do título termina,
+     * sempre na thread chamadora (o consumidor não precisa ser thread-safe).
+     */
+    public void buscar(List<String> titulos, Consumer<ResultadoBuscaDTO> aoConcluir) throws InterruptedException {
+        List<String> distintos = prepararTitulos(titulos);
+
+        Semaphore permissoes = new Semaphore(Math.max(1, concorrencia));
+        BlockingQueue<ResultadoBuscaDTO> concluidos = new LinkedBlockingQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String titulo : distintos) {
+                executor.submit(() -> {
+                    permissoes.acquire();
+                    try {
+                        concluidos.put(buscarTitulo(titulo));
+                    } finally {
+                        permissoes.release();
+                    }
+                    return null;
+                });
+            }
+
+            try {
+                for (int i = 0; i < distintos.size(); i++) {
+                    aoConcluir.accept(concluidos.take());
+                }
+            } catch (RuntimeException | InterruptedException e) {
+                // Cliente desconectou ou a thread foi interrompida: cancela o que falta
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    private ResultadoBuscaDTO buscarTitulo(String titulo) {
+        long inicio = System.nanoTime();
+        try {
+            RespostaDTO resposta = livroService.buscarNaApi(titulo);
+            List<LivroDTO> livros = resposta.resultados() != null ? resposta.resultados() : List.of();
+            return new ResultadoBuscaDTO(titulo, livros, null, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao buscar '{}': {}", titulo, e.getMessage());
+            return new ResultadoBuscaDTO(titulo, List.of(), e.getMessage(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.jciterceros.literalura.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Camada em memória do cache HTTP: guarda os corpos das respostas mais recentes
+ * em ordem LRU, limitada por número de entradas e por bytes, com TTL.
+ */
+@Component
+public class CacheRespostas {
+
+    private record Entrada(byte[] corpo, long expiraEmNanos) {
+    }
+
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesArmazenados;
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong remocoes = new AtomicLong();
+    private final AtomicLong bytesServidos = new AtomicLong();
+
+    @Value("${literalura.http.cache.memoria.entradas:256}")
+    private int maximoEntradas;
+
+    @Value("${literalura.http.cache.memoria.tamanho-maximo:16MB}")
+    private DataSize tamanhoMaximo;
+
+    @Value("${literalura.http.cache.memoria.ttl:5m}")
+    private Duration ttl;
+
+    public byte[] obter(String url) {
+        Entrada entrada;
+        synchronized (this) {
+            entrada = entradas.get(url);
+            if (entrada != null && entrada.expiraEmNanos() - System.nanoTime() <= 0) {
+                remover(url);
+                entrada = null;
+            }
+        }
+        if (entrada == null) {
+            falhas.incrementAndGet();
+            return null;
+        }
+        acertos.incrementAndGet();
+        bytesServidos.addAndGet(entrada.corpo().length);
+        return entrada.corpo();
+    }
+
+    public void guardar(String url, byte[] corpo) {
+        if (maximoEntradas <= 0 || corpo.length > tamanhoMaximo.toBytes()) {
+            return;
+        }
+        synchronized (this) {
+            remover(url);
+            entradas.put(url, new Entrada(corpo, System.nanoTime() + ttl.toNanos()));
+            bytesArmazenados += corpo.length;
+
+            Iterator<Map.Entry<String, Entrada>> maisAntigas = entradas.entrySet().iterator();
+            while ((entradas.size() > maximoEntradas || bytesArmazenados > tamanhoMaximo.toBytes())
+                    && maisAntigas.hasNext()) {
+                bytesArmazenados -= maisAntigas.next().getValue().corpo().length;
+                maisAntigas.remove();
+                remocoes.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Maior corpo que {@link #guardar} aceita; zero com o cache desligado.
+     */
+    public long getTamanhoMaximoEntrada() {
+        return maximoEntradas <= 0 ? 0 : tamanhoMaximo.toBytes();
+    }
+
+    public synchronized void limpar() {
+        entradas.clear();
+        bytesArmazenados = 0;
+    }
+
+    public long getAcertos() {
+        return acertos.get();
+    }
+
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    public long getRemocoes() {
+        return remocoes.get();
+    }
+
+    public long getBytesServidos() {
+        return bytesServidos.get();
+    }
+
+    public synchronized int getEntradas() {
+        return entradas.size();
+    }
+
+    public synchronized long getBytesArmazenados() {
+        return bytesArmazenados;
+    }
+
+    private void remover(String url) {
+        Entrada anterior = entradas.remove(url);
+        if (anterior != null) {
+            bytesArmazenados -= anterior.corpo().length;
+        }
+    }
+}
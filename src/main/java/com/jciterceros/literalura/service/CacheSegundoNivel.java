@@ -0,0 +1,79 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.EstatisticasCacheEntidadesDTO;
+import com.jciterceros.literalura.dto.EstatisticasRegiaoCacheDTO;
+import com.jciterceros.literalura.model.Livro;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Acesso ao cache de segundo nível e ao cache de consultas do Hibernate:
+ * estatísticas de acerto e invalidação para quem grava direto por JDBC (o que
+ * passa pela sessão do Hibernate é invalidado automaticamente).
+ */
+@Service
+public class CacheSegundoNivel {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public EstatisticasCacheEntidadesDTO estatisticas() {
+        Statistics estatisticas = sessionFactory().getStatistics();
+        List<EstatisticasRegiaoCacheDTO> regioes = Arrays.stream(estatisticas.getSecondLevelCacheRegionNames())
+                .sorted()
+                .filter(regiao -> estatisticas.getCacheRegionStatistics(regiao) != null)
+                .map(regiao -> {
+                    CacheRegionStatistics regiaoEstatisticas = estatisticas.getCacheRegionStatistics(regiao);
+                    return new EstatisticasRegiaoCacheDTO(regiao, regiaoEstatisticas.getHitCount(),
+                            regiaoEstatisticas.getMissCount(), regiaoEstatisticas.getPutCount(),
+                            taxa(regiaoEstatisticas.getHitCount(), regiaoEstatisticas.getMissCount()));
+                })
+                .toList();
+        return new EstatisticasCacheEntidadesDTO(
+                estatisticas.getSecondLevelCacheHitCount(),
+                estatisticas.getSecondLevelCacheMissCount(),
+                estatisticas.getSecondLevelCachePutCount(),
+                taxa(estatisticas.getSecondLevelCacheHitCount(), estatisticas.getSecondLevelCacheMissCount()),
+                estatisticas.getQueryCacheHitCount(),
+                estatisticas.getQueryCacheMissCount(),
+                estatisticas.getQueryCachePutCount(),
+                taxa(estatisticas.getQueryCacheHitCount(), estatisticas.getQueryCacheMissCount()),
+                regioes);
+    }
+
+    /**
+     * Descarta entidades, coleções e resultados de consultas em cache. Deve ser
+     * chamado depois de gravações feitas fora do Hibernate.
+     */
+    public void limpar() {
+        sessionFactory().getCache().evictAllRegions();
+    }
+
+    /**
+     * Descarta do cache apenas os livros informados, para atualizações pontuais
+     * feitas por JDBC. Os resultados de consultas em cache guardam só ids e
+     * voltam a carregar esses livros do banco.
+     */
+    public void removerLivros(Collection<Long> ids) {
+        Cache cache = sessionFactory().getCache();
+        ids.forEach(id -> cache.evictEntityData(Livro.class, id));
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private static double taxa(long acertos, long falhas) {
+        long total = acertos + falhas;
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+}
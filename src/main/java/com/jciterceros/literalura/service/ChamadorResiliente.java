@@ -0,0 +1,270 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.exception.ApiIndisponivelException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executa GETs idempotentes com retentativas, disjuntor (circuit breaker) e,
+ * opcionalmente, uma segunda requisição de reserva (hedge).
+ * <ul>
+ * <li>Falhas de E/S e respostas 429/5xx são repetidas com espera exponencial
+ * aleatória ("full jitter") entre zero e o teto da tentativa.</li>
+ * <li>Após {@code falhasParaAbrir} falhas seguidas o disjuntor abre e as chamadas
+ * falham de imediato com {@link ApiIndisponivelException}; passado
+ * {@code tempoAberto}, uma única chamada de teste decide se ele fecha.</li>
+ * <li>Com o hedge ativo, se a resposta não chegar dentro do p95 das latências
+ * recentes, uma segunda requisição é disparada e vale a que responder primeiro.</li>
+ * </ul>
+ */
+public class ChamadorResiliente {
+
+    public record Configuracao(
+            int maximoRetentativas,
+            Duration esperaInicial,
+            Duration esperaMaxima,
+            int falhasParaAbrir,
+            Duration tempoAberto,
+            boolean hedgeHabilitado,
+            Duration atrasoMinimoHedge) {
+    }
+
+    public enum EstadoCircuito { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private static final int AMOSTRAS_LATENCIA = 128;
+    private static final int AMOSTRAS_MINIMAS_HEDGE = 20;
+
+    private final OkHttpClient client;
+    private final Configuracao configuracao;
+
+    private EstadoCircuito estado = EstadoCircuito.FECHADO;
+    private int falhasSeguidas;
+    private long abertoDesdeNanos;
+
+    private final long[] latenciasNanos = new long[AMOSTRAS_LATENCIA];
+    private int totalLatencias;
+
+    private final LongAdder retentativas = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+
+    public ChamadorResiliente(OkHttpClient client, Configuracao configuracao) {
+        this.client = client;
+        this.configuracao = configuracao;
+    }
+
+    /**
+     * Executa a requisição e devolve a resposta para o chamador ler e fechar. A
+     * última resposta com erro (429/5xx) é devolvida quando as tentativas acabam.
+     */
+    public Response executar(Request request) throws IOException {
+        for (int tentativa = 0; ; tentativa++) {
+            liberarPeloCircuito();
+            try {
+                Response resposta = executarComHedge(request);
+                if (!retentavel(resposta.code())) {
+                    registrarSucesso();
+                    return resposta;
+                }
+                registrarFalha();
+                if (tentativa >= configuracao.maximoRetentativas()) {
+                    return resposta;
+                }
+                resposta.close();
+            } catch (IOException e) {
+                registrarFalha();
+                // Timeouts também são InterruptedIOException; só a interrupção da thread encerra sem repetir
+                if (tentativa >= configuracao.maximoRetentativas() || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                // Não deixa o disjuntor preso em MEIO_ABERTO por uma falha inesperada
+                registrarFalha();
+                throw e;
+            }
+            retentativas.increment();
+            aguardar(esperaDaTentativa(tentativa));
+        }
+    }
+
+    private static boolean retentavel(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private long esperaDaTentativa(int tentativa) {
+        long inicial = configuracao.esperaInicial().toNanos();
+        long teto = Math.min(configuracao.esperaMaxima().toNanos(), inicial << Math.min(tentativa, 20));
+        return teto > 0 ? ThreadLocalRandom.current().nextLong(teto + 1) : 0;
+    }
+
+    private static void aguardar(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Espera entre tentativas interrompida");
+        }
+    }
+
+    // ---- Disjuntor ----
+
+    private synchronized void liberarPeloCircuito() {
+        if (estado == EstadoCircuito.FECHADO) {
+            return;
+        }
+        if (estado == EstadoCircuito.ABERTO
+                && System.nanoTime() - abertoDesdeNanos >= configuracao.tempoAberto().toNanos()) {
+            // Deixa passar uma chamada de teste; as demais continuam falhando até ela terminar
+            estado = EstadoCircuito.MEIO_ABERTO;
+            return;
+        }
+        rejeitadas.increment();
+        throw new ApiIndisponivelException("Gutendex indisponível: chamadas suspensas temporariamente");
+    }
+
+    private synchronized void registrarSucesso() {
+        falhasSeguidas = 0;
+        estado = EstadoCircuito.FECHADO;
+    }
+
+    private synchronized void registrarFalha() {
+        falhasSeguidas++;
+        if (estado == EstadoCircuito.MEIO_ABERTO || falhasSeguidas >= configuracao.falhasParaAbrir()) {
+            estado = EstadoCircuito.ABERTO;
+            abertoDesdeNanos = System.nanoTime();
+        }
+    }
+
+    // ---- Hedge ----
+
+    private Response executarComHedge(Request request) throws IOException {
+        long inicio = System.nanoTime();
+        if (!configuracao.hedgeHabilitado()) {
+            Response resposta = client.newCall(request).execute();
+            registrarLatencia(System.nanoTime() - inicio);
+            return resposta;
+        }
+
+        Disputa disputa = new Disputa();
+        disputa.enviar(client, request);
+        try {
+            Response resposta;
+            try {
+                resposta = disputa.vencedora.get(atrasoHedgeNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                hedges.increment();
+                disputa.enviar(client, request);
+                resposta = disputa.vencedora.get();
+            }
+            registrarLatencia(System.nanoTime() - inicio);
+            return resposta;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Requisição interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException causa) {
+                throw causa;
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            disputa.cancelarPerdedoras();
+        }
+    }
+
+    private synchronized void registrarLatencia(long nanos) {
+        latenciasNanos[totalLatencias % AMOSTRAS_LATENCIA] = nanos;
+        totalLatencias++;
+    }
+
+    /**
+     * p95 das latências recentes, nunca abaixo do atraso mínimo configurado. Com
+     * poucas amostras usa o atraso mínimo.
+     */
+    synchronized long atrasoHedgeNanos() {
+        long minimo = configuracao.atrasoMinimoHedge().toNanos();
+        if (totalLatencias < AMOSTRAS_MINIMAS_HEDGE) {
+            return minimo;
+        }
+        long[] amostras = Arrays.copyOf(latenciasNanos, Math.min(totalLatencias, AMOSTRAS_LATENCIA));
+        Arrays.sort(amostras);
+        return Math.max(minimo, amostras[(int) Math.ceil(amostras.length * 0.95) - 1]);
+    }
+
+    /**
+     * Requisições concorrentes pelo mesmo recurso: a primeira resposta vence, as
+     * que chegarem depois são fechadas e as chamadas ainda em curso, canceladas.
+     * Só falha se todas falharem.
+     */
+    private static final class Disputa {
+
+        final CompletableFuture<Response> vencedora = new CompletableFuture<>();
+        private final List<Call> chamadas = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Call> chamadaVencedora = new AtomicReference<>();
+        private final AtomicInteger pendentes = new AtomicInteger();
+
+        void enviar(OkHttpClient client, Request request) {
+            pendentes.incrementAndGet();
+            Call chamada = client.newCall(request);
+            chamadas.add(chamada);
+            chamada.enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    if (chamadaVencedora.compareAndSet(null, call)) {
+                        vencedora.complete(response);
+                    } else {
+                        response.close();
+                    }
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    if (pendentes.decrementAndGet() == 0) {
+                        vencedora.completeExceptionally(e);
+                    }
+                }
+            });
+        }
+
+        void cancelarPerdedoras() {
+            for (Call chamada : chamadas) {
+                if (chamada != chamadaVencedora.get()) {
+                    chamada.cancel();
+                }
+            }
+        }
+    }
+
+    public synchronized EstadoCircuito getEstado() {
+        return estado;
+    }
+
+    public long getRetentativas() {
+        return retentativas.sum();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+}
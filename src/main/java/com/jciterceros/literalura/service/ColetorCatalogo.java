@@ -0,0 +1,395 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.ColetaDTO;
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.dto.RelatorioColetaDTO;
+import com.jciterceros.literalura.dto.RespostaDTO;
+import com.jciterceros.literalura.exception.ColetaEmAndamentoException;
+import com.jciterceros.literalura.exception.ColetaNaoEncontradaException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coleta o catálogo do Gutendex seguindo a paginação ({@code next}) em três
+ * estágios encadeados por filas limitadas: busca HTTP, conversão JSON e
+ * persistência. Enquanto uma página é gravada no banco, as seguintes já estão
+ * sendo baixadas e convertidas.
+ * <p>
+ * A coleta roda em uma thread própria, uma por vez: o pedido só é registrado e a
+ * situação fica disponível por id, como nas importações ({@link FilaImportacoes}).
+ * <p>
+ * Ao final de cada página gravada por inteiro, a URL da próxima é gravada em um
+ * arquivo de checkpoint, permitindo retomar uma coleta interrompida. Depois da
+ * primeira página com livros que falharam, o checkpoint fica parado nela, para
+ * que a retomada tente esses livros de novo.
+ */
+@Service
+public class ColetorCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(ColetorCatalogo.class);
+
+    private static final String URL_BASE = "https://gutendex.com/books/";
+
+    @Autowired
+    private ConsumoAPI consumoAPI;
+
+    @Autowired
+    private ConverteDados converteDados;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Value("${literalura.coleta.checkpoint:coleta-checkpoint.properties}")
+    private Path arquivoCheckpoint;
+
+    @Value("${literalura.coleta.capacidade-fila:4}")
+    private int capacidadeFila;
+
+    @Value("${literalura.coleta.retidas:100}")
+    private int retidas;
+
+    private ThreadPoolExecutor executor;
+
+    private final Map<String, Coleta> coletas = new ConcurrentHashMap<>();
+    private final Queue<String> ordemChegada = new ConcurrentLinkedQueue<>();
+
+    private record PaginaBaixada(String url, String proxima, String json) {
+        static final PaginaBaixada FIM = new PaginaBaixada(null, null, null);
+    }
+
+    private record PaginaConvertida(String url, String proxima, List<LivroDTO> livros) {
+        static final PaginaConvertida FIM = new PaginaConvertida(null, null, null);
+    }
+
+    private enum Estado {
+        AGUARDANDO, EM_ANDAMENTO, CONCLUIDA, FALHOU
+    }
+
+    /**
+     * Estado mutável de uma coleta. Os contadores só são escritos pela thread da
+     * coleta e lidos pelas consultas de situação.
+     */
+    private static final class Coleta {
+        final String id = UUID.randomUUID().toString();
+        final String filtro;
+        final boolean retomar;
+        final Instant criadaEm = Instant.now();
+        volatile Estado estado = Estado.AGUARDANDO;
+        volatile Instant iniciadaEm;
+        volatile Instant concluidaEm;
+        volatile long inicioNanos;
+        volatile long duracaoNanos;
+        volatile int paginas;
+        volatile int livrosSalvos;
+        volatile int falhas;
+        volatile String proximaUrl;
+        volatile String erro;
+
+        Coleta(String filtro, boolean retomar) {
+            this.filtro = filtro;
+            this.retomar = retomar;
+        }
+
+        RelatorioColetaDTO relatorio() {
+            long nanos = switch (estado) {
+                case AGUARDANDO -> 0;
+                case EM_ANDAMENTO -> System.nanoTime() - inicioNanos;
+                case CONCLUIDA, FALHOU -> duracaoNanos;
+            };
+            double segundos = nanos / 1_000_000_000.0;
+            double livrosPorSegundo = segundos > 0 ? livrosSalvos / segundos : 0;
+            boolean concluida = estado == Estado.CONCLUIDA && proximaUrl == null;
+            return new RelatorioColetaDTO(paginas, livrosSalvos, falhas, nanos / 1_000_000, livrosPorSegundo,
+                    concluida, proximaUrl, erro);
+        }
+
+        ColetaDTO paraDTO() {
+            return new ColetaDTO(id, estado.name(), filtro, retomar, criadaEm, iniciadaEm, concluidaEm,
+                    relatorio());
+        }
+    }
+
+    @PostConstruct
+    void inicializar() {
+        // Um trabalhador e nenhuma fila: com uma coleta em andamento, a próxima é recusada
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "coleta");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Inicia a coleta a partir da primeira página do filtro informado (por
+     * exemplo {@code languages=pt}), ou do checkpoint salvo para o mesmo filtro
+     * quando {@code retomar} for verdadeiro, e devolve a situação inicial com o id
+     * a consultar.
+     */
+    public ColetaDTO iniciar(String filtro, boolean retomar) {
+        Coleta coleta = new Coleta(filtro == null ? "" : filtro.trim(), retomar);
+        coletas.put(coleta.id, coleta);
+        try {
+            executor.execute(() -> executar(coleta));
+        } catch (RejectedExecutionException e) {
+            coletas.remove(coleta.id);
+            throw new ColetaEmAndamentoException();
+        }
+        ordemChegada.add(coleta.id);
+        descartarAntigas();
+        return coleta.paraDTO();
+    }
+
+    public ColetaDTO consultar(String id) {
+        Coleta coleta = coletas.get(id);
+        if (coleta == null) {
+            throw new ColetaNaoEncontradaException(id);
+        }
+        return coleta.paraDTO();
+    }
+
+    private void descartarAntigas() {
+        while (coletas.size() > retidas) {
+            String maisAntiga = ordemChegada.poll();
+            if (maisAntiga == null) {
+                return;
+            }
+            coletas.remove(maisAntiga);
+        }
+    }
+
+    private void executar(Coleta coleta) {
+        coleta.inicioNanos = System.nanoTime();
+        coleta.iniciadaEm = Instant.now();
+        coleta.estado = Estado.EM_ANDAMENTO;
+        try {
+            coletar(coleta);
+        } catch (RuntimeException e) {
+            log.warn("Coleta {} falhou: {}", coleta.id, e.getMessage());
+            coleta.erro = e.getMessage();
+        } finally {
+            coleta.duracaoNanos = System.nanoTime() - coleta.inicioNanos;
+            coleta.concluidaEm = Instant.now();
+            coleta.estado = coleta.erro == null ? Estado.CONCLUIDA : Estado.FALHOU;
+            RelatorioColetaDTO relatorio = coleta.relatorio();
+            log.info("Coleta {}: {} página(s), {} livro(s), {} falha(s) em {}s ({} livros/s)",
+                    relatorio.concluida() ? "concluída" : "interrompida", relatorio.paginas(),
+                    relatorio.livrosSalvos(), relatorio.falhas(),
+                    String.format("%.1f", relatorio.duracaoMs() / 1000.0),
+                    String.format("%.1f", relatorio.livrosPorSegundo()));
+        }
+    }
+
+    private void coletar(Coleta coleta) {
+        String inicio = URL_BASE + (coleta.filtro.isEmpty() ? "" : "?" + coleta.filtro);
+        if (coleta.retomar) {
+            String salva = lerCheckpoint(coleta.filtro);
+            if (salva != null) {
+                log.info("Retomando coleta a partir de: {}", salva);
+                inicio = salva;
+            }
+        }
+        coleta.proximaUrl = inicio;
+
+        BlockingQueue<PaginaBaixada> baixadas = new ArrayBlockingQueue<>(capacidadeFila);
+        BlockingQueue<PaginaConvertida> convertidas = new ArrayBlockingQueue<>(capacidadeFila);
+
+        // Falso a partir da primeira página com falhas: o checkpoint não passa dela
+        boolean paginasCompletas = true;
+
+        ExecutorService estagios = Executors.newFixedThreadPool(2);
+        try {
+            final String primeiraUrl = inicio;
+            Future<Void> busca = estagios.submit(() -> estagioBusca(primeiraUrl, baixadas));
+            Future<Void> conversao = estagios.submit(() -> estagioConversao(baixadas, convertidas));
+
+            // Estágio de persistência: roda na thread da coleta
+            while (true) {
+                PaginaConvertida pagina = convertidas.take();
+                if (pagina == PaginaConvertida.FIM) {
+                    break;
+                }
+                int falhasDaPagina = 0;
+                try {
+                    // A página inteira em uma transação, com inserts em lote; só contam os livros novos
+                    coleta.livrosSalvos += livroService.salvarLivros(pagina.livros()).size();
+                } catch (RuntimeException falhaDoLote) {
+                    log.warn("Falha ao gravar a página {}, gravando livro a livro: {}", pagina.url(),
+                            falhaDoLote.getMessage());
+                    for (LivroDTO livro : pagina.livros()) {
+                        try {
+                            if (livroService.gravarLivro(livro).novo()) {
+                                coleta.livrosSalvos++;
+                            }
+                        } catch (RuntimeException e) {
+                            falhasDaPagina++;
+                            coleta.falhas++;
+                            log.warn("Falha ao salvar '{}': {}", livro.titulo(), e.getMessage());
+                        }
+                    }
+                }
+                coleta.paginas++;
+                if (paginasCompletas && falhasDaPagina == 0) {
+                    coleta.proximaUrl = pagina.proxima();
+                    gravarCheckpoint(coleta.filtro, pagina.proxima());
+                } else if (paginasCompletas) {
+                    paginasCompletas = false;
+                    log.warn("Página {} com {} livro(s) não gravado(s): o checkpoint fica nela", pagina.url(),
+                            falhasDaPagina);
+                    coleta.proximaUrl = pagina.url();
+                    gravarCheckpoint(coleta.filtro, pagina.url());
+                }
+            }
+
+            estagios.shutdownNow();
+            coleta.erro = falhaDoEstagio(busca);
+            if (coleta.erro == null) {
+                coleta.erro = falhaDoEstagio(conversao);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            coleta.erro = "Coleta interrompida";
+        } finally {
+            estagios.shutdownNow();
+        }
+    }
+
+    private Void estagioBusca(String inicio, BlockingQueue<PaginaBaixada> saida) throws InterruptedException {
+        boolean interrompido = false;
+        try {
+            String url = inicio;
+            while (url != null) {
+                String json = consumoAPI.obterDados(url);
+                String proxima = converteDados.extrairCampoRaiz(json, "next");
+                saida.put(new PaginaBaixada(url, proxima, json));
+                url = proxima;
+            }
+        } catch (InterruptedException e) {
+            interrompido = true;
+            throw e;
+        } finally {
+            // Sinaliza o fim mesmo em caso de falha, para que os estágios seguintes encerrem
+            if (!interrompido) {
+                saida.put(PaginaBaixada.FIM);
+            }
+        }
+        return null;
+    }
+
+    private Void estagioConversao(BlockingQueue<PaginaBaixada> entrada, BlockingQueue<PaginaConvertida> saida)
+            throws InterruptedException {
+        boolean interrompido = false;
+        try {
+            while (true) {
+                PaginaBaixada pagina = entrada.take();
+                if (pagina == PaginaBaixada.FIM) {
+                    break;
+                }
+                RespostaDTO resposta = converteDados.obterDados(pagina.json(), RespostaDTO.class);
+                List<LivroDTO> livros = resposta.resultados() != null ? resposta.resultados() : List.of();
+                saida.put(new PaginaConvertida(pagina.url(), pagina.proxima(), livros));
+            }
+        } catch (InterruptedException e) {
+            interrompido = true;
+            throw e;
+        } finally {
+            if (!interrompido) {
+                saida.put(PaginaConvertida.FIM);
+            }
+        }
+        return null;
+    }
+
+    private String falhaDoEstagio(Future<Void> estagio) throws InterruptedException {
+        try {
+            estagio.get();
+            return null;
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof InterruptedException) {
+                return null;
+            }
+            return causa.getMessage();
+        }
+    }
+
+    private String lerCheckpoint(String filtro) {
+        if (!Files.exists(arquivoCheckpoint)) {
+            return null;
+        }
+        Properties propriedades = new Properties();
+        try (InputStream entrada = Files.newInputStream(arquivoCheckpoint)) {
+            propriedades.load(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler checkpoint da coleta", e);
+        }
+        if (!filtro.equals(propriedades.getProperty("filtro"))) {
+            return null;
+        }
+        return propriedades.getProperty("proxima");
+    }
+
+    private void gravarCheckpoint(String filtro, String proxima) {
+        try {
+            if (proxima == null) {
+                // Coleta concluída: não há o que retomar
+                Files.deleteIfExists(arquivoCheckpoint);
+                return;
+            }
+            Properties propriedades = new Properties();
+            propriedades.setProperty("filtro", filtro);
+            propriedades.setProperty("proxima", proxima);
+
+            Path diretorio = arquivoCheckpoint.toAbsolutePath().getParent();
+            Files.createDirectories(diretorio);
+            Path temporario = Files.createTempFile(diretorio, "coleta", ".tmp");
+            try (OutputStream saida = Files.newOutputStream(temporario)) {
+                propriedades.store(saida, "Checkpoint da coleta do Gutendex");
+            }
+            Files.move(temporario, arquivoCheckpoint, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar checkpoint da coleta", e);
+        }
+    }
+}
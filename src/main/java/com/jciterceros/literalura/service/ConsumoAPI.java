@@ -1,53 +1,416 @@
 package com.jciterceros.literalura.service;
 
+import com.jciterceros.literalura.dto.EstatisticasCacheDTO;
+import com.jciterceros.literalura.exception.ApiIndisponivelException;
+import com.jciterceros.literalura.util.ChamadaUnica;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Cache;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 @Service
 public class ConsumoAPI {
 
-    private final OkHttpClient client = new OkHttpClient.Builder()
-            .connectTimeout(30, TimeUnit.SECONDS)
-            .readTimeout(30, TimeUnit.SECONDS)
-            .writeTimeout(30, TimeUnit.SECONDS)
-            .build();
+    private static final Logger log = LoggerFactory.getLogger(ConsumoAPI.class);
+
+    @Autowired
+    private CacheRespostas cacheRespostas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LimitadorTaxa limitadorTaxa;
+
+    @Value("${literalura.http.cache.disco.diretorio:${java.io.tmpdir}/literalura-http-cache}")
+    private String diretorioCache;
+
+    @Value("${literalura.http.cache.disco.tamanho-maximo:50MB}")
+    private DataSize tamanhoMaximoCache;
+
+    @Value("${literalura.http.cache.disco.ttl:1h}")
+    private Duration ttlDisco;
+
+    @Value("${literalura.http.timeout.conexao:5s}")
+    private Duration timeoutConexao;
+
+    @Value("${literalura.http.timeout.leitura:10s}")
+    private Duration timeoutLeitura;
+
+    @Value("${literalura.http.timeout.total:15s}")
+    private Duration timeoutTotal;
+
+    @Value("${literalura.http.retentativas.maximo:2}")
+    private int maximoRetentativas;
+
+    @Value("${literalura.http.retentativas.espera-inicial:200ms}")
+    private Duration esperaInicial;
+
+    @Value("${literalura.http.retentativas.espera-maxima:2s}")
+    private Duration esperaMaxima;
+
+    @Value("${literalura.http.circuito.falhas-para-abrir:5}")
+    private int falhasParaAbrir;
+
+    @Value("${literalura.http.circuito.tempo-aberto:30s}")
+    private Duration tempoAberto;
+
+    @Value("${literalura.http.hedge.habilitado:false}")
+    private boolean hedgeHabilitado;
+
+    @Value("${literalura.http.hedge.atraso-minimo:250ms}")
+    private Duration atrasoMinimoHedge;
+
+    private final AtomicLong bytesRecebidosRede = new AtomicLong();
+    private final ChamadaUnica<String, byte[]> requisicoesEmAndamento = new ChamadaUnica<>();
+
+    private Cache cacheDisco;
+    private OkHttpClient client;
+    private ChamadorResiliente chamador;
+
+    @PostConstruct
+    void inicializar() {
+        cacheDisco = new Cache(new File(diretorioCache), tamanhoMaximoCache.toBytes());
+        // Requisições de reserva (hedge) usam chamadas assíncronas, limitadas pelo Dispatcher
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(64);
+        dispatcher.setMaxRequestsPerHost(32);
+        client = new OkHttpClient.Builder()
+                .connectTimeout(timeoutConexao)
+                .readTimeout(timeoutLeitura)
+                .writeTimeout(timeoutLeitura)
+                .callTimeout(timeoutTotal)
+                .dispatcher(dispatcher)
+                .cache(cacheDisco)
+                .addNetworkInterceptor(chain -> {
+                    // Só o que vai de fato à rede consome fichas; acertos no cache em disco não
+                    try {
+                        limitadorTaxa.adquirir();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Espera pelo limite de taxa interrompida");
+                    }
+                    return chain.proceed(chain.request());
+                })
+                .addNetworkInterceptor(chain -> {
+                    Response resposta = chain.proceed(chain.request());
+                    // O Gutendex não envia política de cache: aplica o TTL configurado para
+                    // que o OkHttp armazene a resposta e revalide com ETag/Last-Modified
+                    if (resposta.header("Cache-Control") == null && resposta.header("Expires") == null) {
+                        return resposta.newBuilder()
+                                .header("Cache-Control", "max-age=" + ttlDisco.toSeconds())
+                                .build();
+                    }
+                    return resposta;
+                })
+                .build();
+        chamador = new ChamadorResiliente(client, new ChamadorResiliente.Configuracao(maximoRetentativas,
+                esperaInicial, esperaMaxima, falhasParaAbrir, tempoAberto, hedgeHabilitado, atrasoMinimoHedge));
+        registrarMedidoresCache();
+        registrarMedidoresResiliencia();
+    }
+
+    private void registrarMedidoresResiliencia() {
+        FunctionCounter.builder("literalura.http.retentativas", chamador, ChamadorResiliente::getRetentativas)
+                .description("Requisições repetidas após falha ou resposta 429/5xx").register(meterRegistry);
+        FunctionCounter.builder("literalura.http.hedges", chamador, ChamadorResiliente::getHedges)
+                .description("Requisições de reserva disparadas após o atraso do p95").register(meterRegistry);
+        FunctionCounter.builder("literalura.http.circuito.rejeitadas", chamador, ChamadorResiliente::getRejeitadas)
+                .description("Chamadas recusadas com o disjuntor aberto").register(meterRegistry);
+        Gauge.builder("literalura.http.circuito.aberto", chamador,
+                        c -> c.getEstado() == ChamadorResiliente.EstadoCircuito.FECHADO ? 0 : 1)
+                .description("1 enquanto o disjuntor do Gutendex está aberto ou em teste").register(meterRegistry);
+    }
+
+    private void registrarMedidoresCache() {
+        FunctionCounter.builder("literalura.http.cache.acertos", cacheRespostas, CacheRespostas::getAcertos)
+                .tag("camada", "memoria").register(meterRegistry);
+        FunctionCounter.builder("literalura.http.cache.falhas", cacheRespostas, CacheRespostas::getFalhas)
+                .tag("camada", "memoria").register(meterRegistry);
+        FunctionCounter.builder("literalura.http.cache.acertos", cacheDisco, cache -> cache.hitCount())
+                .tag("camada", "disco").register(meterRegistry);
+        FunctionCounter.builder("literalura.http.cache.falhas", cacheDisco, cache -> cache.networkCount())
+                .tag("camada", "disco").register(meterRegistry);
+        FunctionCounter.builder("literalura.http.coalescidas", requisicoesEmAndamento, ChamadaUnica::getCoalescidas)
+                .description("Chamadas atendidas por uma requisição idêntica já em andamento")
+                .tag("nivel", "bytes").register(meterRegistry);
+        Gauge.builder("literalura.http.cache.bytes", cacheRespostas, CacheRespostas::getBytesArmazenados)
+                .tag("camada", "memoria").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() throws IOException {
+        cacheDisco.close();
+    }
 
     public String obterDados(String url) {
+        String chave = normalizarUrl(url);
+        byte[] emMemoria = cacheRespostas.obter(chave);
+        if (emMemoria != null) {
+            log.debug("Resposta servida do cache em memória: {}", url);
+            return new String(emMemoria, StandardCharsets.UTF_8);
+        }
+
+        // Chamadas simultâneas para a mesma URL compartilham uma única requisição
+        byte[] corpo = requisicoesEmAndamento.executar(chave, () -> baixar(chave));
+        return new String(corpo, StandardCharsets.UTF_8);
+    }
+
+    private byte[] baixar(String url) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            log.debug("Fazendo requisição para: {}", url);
+
+            try (Response response = chamador.executar(criarRequisicao(url))) {
+                rejeitarSemSucesso(amostra, response);
+                byte[] corpo = response.body().bytes();
+                registrarResposta(amostra, response, corpo.length);
+                cacheRespostas.guardar(url, corpo);
+
+                log.debug("Status da resposta: {} {}{} - {} bytes", response.code(), response.message(),
+                        response.cacheResponse() != null ? " (cache)" : "", corpo.length);
+                return corpo;
+            }
+        } catch (IOException e) {
+            registrarFalha(amostra);
+            log.error("Erro ao fazer requisição para {}: {}", url, e.getMessage(), e);
+            throw new ApiIndisponivelException("Erro na requisição HTTP", e);
+        }
+    }
+
+    /**
+     * Forma canônica da URL, usada como chave do cache em memória e do agrupamento
+     * de chamadas: esquema e host em minúsculas, parâmetros de consulta ordenados e
+     * codificação uniforme (espaço como %20).
+     */
+    public static String normalizarUrl(String url) {
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        if (httpUrl == null) {
+            throw new IllegalArgumentException("URL inválida: " + url);
+        }
+        HttpUrl.Builder builder = httpUrl.newBuilder().query(null);
+        httpUrl.queryParameterNames().stream().sorted().forEach(nome -> httpUrl.queryParameterValues(nome)
+                .forEach(valor -> builder.addQueryParameter(nome, valor)));
+        return builder.build().toString();
+    }
+
+    /**
+     * Entrega o corpo da resposta ao leitor como fluxo de bytes, que é consumido
+     * enquanto chega pela rede. Os bytes lidos são copiados até o tamanho máximo
+     * de uma entrada do cache em memória e, se a leitura termina com sucesso e o
+     * corpo coube, guardados nele; o cache em disco do OkHttp é alimentado durante
+     * a leitura. Como o fluxo não pode ser compartilhado, o agrupamento de
+     * chamadas simultâneas fica com quem chama, sobre o resultado já convertido.
+     */
+    public <T> T obterDados(String url, Function<InputStream, T> leitor) {
+        url = normalizarUrl(url);
+        byte[] emMemoria = cacheRespostas.obter(url);
+        if (emMemoria != null) {
+            log.debug("Resposta servida do cache em memória: {}", url);
+            return leitor.apply(new ByteArrayInputStream(emMemoria));
+        }
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
         try {
-            System.out.println("Fazendo requisição para: " + url);
-
-            // Criar request com headers completos de navegador
-            Request request = new Request.Builder()
-                    .url(url)
-                    .addHeader("User-Agent",
-                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .addHeader("Accept", "application/json, text/plain, */*")
-                    .addHeader("Accept-Language", "pt-BR,pt;q=0.9,en;q=0.8")
-                    .addHeader("Accept-Encoding", "gzip, deflate, br")
-                    .addHeader("Connection", "keep-alive")
-                    .addHeader("Cache-Control", "no-cache")
-                    .addHeader("Pragma", "no-cache")
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                String body = response.body() != null ? response.body().string() : "";
-
-                System.out.println("Status da resposta: " + response.code() + " " + response.message());
-                // System.out.println("Headers da resposta: " + response.headers());
-                System.out.println("Resposta recebida com sucesso. Tamanho: " + body.length());
-                // System.out.println(body);
-
-                return body;
+            log.debug("Fazendo requisição para: {}", url);
+
+            try (Response response = chamador.executar(criarRequisicao(url))) {
+                log.debug("Status da resposta: {} {}{}", response.code(), response.message(),
+                        response.cacheResponse() != null ? " (cache)" : "");
+                rejeitarSemSucesso(amostra, response);
+
+                CountingInputStream corpo = new CountingInputStream(response.body().byteStream(),
+                        cacheRespostas.getTamanhoMaximoEntrada());
+                T resultado = leitor.apply(corpo);
+                // O leitor pode parar no fim do JSON: o resto é lido para a cópia ficar completa
+                corpo.transferTo(OutputStream.nullOutputStream());
+                registrarResposta(amostra, response, corpo.getCount());
+                byte[] copia = corpo.getCopia();
+                if (copia != null) {
+                    cacheRespostas.guardar(url, copia);
+                }
+                return resultado;
             }
         } catch (IOException e) {
-            System.err.println("Erro ao fazer requisição: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Erro na requisição HTTP", e);
+            registrarFalha(amostra);
+            log.error("Erro ao fazer requisição para {}: {}", url, e.getMessage(), e);
+            throw new ApiIndisponivelException("Erro na requisição HTTP", e);
+        }
+    }
+
+    /**
+     * Respostas sem sucesso não são dados: com as retentativas esgotadas, o
+     * {@link ChamadorResiliente} devolve a última 429/5xx, que vira
+     * {@link ApiIndisponivelException} em vez de chegar ao conversor de JSON.
+     */
+    private void rejeitarSemSucesso(Timer.Sample amostra, Response response) {
+        if (response.isSuccessful() && response.body() != null) {
+            return;
+        }
+        registrarResposta(amostra, response, 0);
+        if (response.code() == 429 || response.code() >= 500) {
+            throw new ApiIndisponivelException("Gutendex respondeu com status " + response.code());
+        }
+        throw new RuntimeException("Erro na requisição HTTP: status " + response.code());
+    }
+
+    /**
+     * Latência (histograma por status e origem) e tamanho da resposta. A origem
+     * distingue respostas da rede, revalidadas (304) e servidas do cache em disco.
+     */
+    private void registrarResposta(Timer.Sample amostra, Response response, long bytes) {
+        String origem = response.networkResponse() == null ? "disco"
+                : response.cacheResponse() != null ? "revalidada" : "rede";
+        amostra.stop(Timer.builder("literalura.gutendex.requisicoes")
+                .description("Latência das requisições ao Gutendex")
+                .tag("status", String.valueOf(response.code()))
+                .tag("origem", origem)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        DistributionSummary.builder("literalura.gutendex.resposta.bytes")
+                .description("Tamanho do corpo das respostas do Gutendex")
+                .baseUnit("bytes")
+                .tag("origem", origem)
+                .register(meterRegistry)
+                .record(bytes);
+        if (response.networkResponse() != null) {
+            bytesRecebidosRede.addAndGet(bytes);
+        }
+    }
+
+    private void registrarFalha(Timer.Sample amostra) {
+        amostra.stop(Timer.builder("literalura.gutendex.requisicoes")
+                .description("Latência das requisições ao Gutendex")
+                .tag("status", "erro")
+                .tag("origem", "rede")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Request criarRequisicao(String url) {
+        // Criar request com headers completos de navegador. O Accept-Encoding fica a
+        // cargo do OkHttp, que só descompacta o gzip de forma transparente quando é
+        // ele quem negocia a codificação.
+        return new Request.Builder()
+                .url(url)
+                .addHeader("User-Agent",
+                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+                .addHeader("Accept", "application/json, text/plain, */*")
+                .addHeader("Accept-Language", "pt-BR,pt;q=0.9,en;q=0.8")
+                .addHeader("Connection", "keep-alive")
+                .build();
+    }
+
+    /**
+     * Conta os bytes lidos do corpo para as estatísticas de tráfego e guarda uma
+     * cópia deles enquanto não passarem de {@code limiteCopia}.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final long limiteCopia;
+        private ByteArrayOutputStream copia;
+        private long count;
+
+        CountingInputStream(InputStream in, long limiteCopia) {
+            super(in);
+            this.limiteCopia = limiteCopia;
+            this.copia = limiteCopia > 0 ? new ByteArrayOutputStream(8192) : null;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int lido = super.read();
+            if (lido != -1) {
+                count++;
+                copiar(lido);
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int lidos = super.read(b, off, len);
+            if (lidos > 0) {
+                count += lidos;
+                copiar(b, off, lidos);
+            }
+            return lidos;
+        }
+
+        private void copiar(int b) {
+            if (copia != null && count <= limiteCopia) {
+                copia.write(b);
+            } else {
+                copia = null;
+            }
+        }
+
+        private void copiar(byte[] b, int off, int len) {
+            if (copia != null && count <= limiteCopia) {
+                copia.write(b, off, len);
+            } else {
+                copia = null;
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        /**
+         * O corpo lido até aqui, ou {@code null} se passou do limite.
+         */
+        byte[] getCopia() {
+            return copia != null ? copia.toByteArray() : null;
+        }
+    }
+
+    public EstatisticasCacheDTO estatisticasCache() {
+        long bytesDisco;
+        try {
+            bytesDisco = cacheDisco.size();
+        } catch (IOException e) {
+            bytesDisco = -1;
         }
+        return new EstatisticasCacheDTO(
+                cacheRespostas.getAcertos(),
+                cacheRespostas.getFalhas(),
+                cacheRespostas.getRemocoes(),
+                cacheRespostas.getEntradas(),
+                cacheRespostas.getBytesArmazenados(),
+                cacheRespostas.getBytesServidos(),
+                cacheDisco.requestCount(),
+                cacheDisco.hitCount(),
+                cacheDisco.networkCount(),
+                bytesDisco,
+                bytesRecebidosRede.get());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.ContagemIdiomaDTO;
+import com.jciterceros.literalura.model.ContagemIdioma;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.repository.ContagemIdiomaRepository;
+import com.jciterceros.literalura.repository.LivroRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Quantidade de livros e total de downloads por idioma, na tabela
+ * {@code contagem_idioma}. O {@link LivroService} atualiza os totais na mesma
+ * transação que grava os livros; a reconstrução a partir da tabela de livros
+ * cobre o que é gravado por outros caminhos (seeds, JDBC).
+ */
+@Service
+public class ContagemIdiomas implements IndiceEmMemoria {
+
+    @Autowired
+    private ContagemIdiomaRepository contagemIdiomaRepository;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Override
+    @Transactional
+    public void recarregar() {
+        contagemIdiomaRepository.deleteAllInBatch();
+        contagemIdiomaRepository.saveAll(livroRepository.contarPorIdioma().stream()
+                .map(contagem -> new ContagemIdioma(contagem.idioma(), contagem.quantidade(),
+                        contagem.totalDownloads()))
+                .toList());
+    }
+
+    /**
+     * Soma os livros recém-gravados aos totais, um {@code MERGE} por idioma do
+     * lote (que cria a linha no primeiro livro do idioma). Deve rodar dentro da
+     * transação que gravou os livros.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Collection<Livro> livros) {
+        // Ordem fixa dos idiomas: transações concorrentes travam e criam as linhas na mesma ordem
+        Map<String, long[]> porIdioma = new TreeMap<>();
+        for (Livro livro : livros) {
+            if (livro.getIdioma() == null) {
+                continue;
+            }
+            long[] totais = porIdioma.computeIfAbsent(livro.getIdioma(), idioma -> new long[2]);
+            totais[0]++;
+            totais[1] += livro.getNumeroDownloads() != null ? livro.getNumeroDownloads() : 0;
+        }
+        porIdioma.forEach((idioma, totais) ->
+                contagemIdiomaRepository.incrementarOuCriar(idioma, totais[0], totais[1]));
+    }
+
+    /**
+     * Aplica variações no total de downloads por idioma, sem alterar a quantidade
+     * de livros. Deve rodar dentro da transação que atualizou os livros.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ajustarDownloads(Map<String, Long> variacaoPorIdioma) {
+        new TreeMap<>(variacaoPorIdioma).forEach((idioma, variacao) -> {
+            if (variacao != 0) {
+                contagemIdiomaRepository.incrementar(idioma, 0, variacao);
+            }
+        });
+    }
+
+    public List<ContagemIdiomaDTO> contagens() {
+        return contagemIdiomaRepository.buscarContagens();
+    }
+}
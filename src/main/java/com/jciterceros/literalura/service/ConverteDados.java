@@ -1,20 +1,94 @@
 package com.jciterceros.literalura.service;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @Service
 public class ConverteDados {
 
+    private static final Logger log = LoggerFactory.getLogger(ConverteDados.class);
+
     private final ObjectMapper mapper = new ObjectMapper();
 
+    // Fora do contexto Spring (benchmarks) as medições vão para o registro global
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     public <T> T obterDados(String json, Class<T> classe) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
         try {
             return mapper.readValue(json, classe);
         } catch (JsonProcessingException e) {
-            System.err.println("Erro na conversão JSON: " + e.getMessage());
+            log.error("Erro na conversão JSON: {}", e.getMessage());
             throw new RuntimeException("Erro ao converter JSON: " + e.getMessage());
+        } finally {
+            amostra.stop(timer("string"));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Converte diretamente a partir do fluxo de bytes da resposta, sem montar o
+     * documento inteiro em uma String. Campos ignorados pelos DTOs (resumos,
+     * formatos, assuntos) são pulados pelo parser sem criar objetos.
+     */
+    public <T> T obterDados(InputStream json, Class<T> classe) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            return mapper.readValue(json, classe);
+        } catch (IOException e) {
+            log.error("Erro na conversão JSON: {}", e.getMessage());
+            throw new RuntimeException("Erro ao converter JSON: " + e.getMessage());
+        } finally {
+            amostra.stop(timer("fluxo"));
+        }
+    }
+
+    /**
+     * Lê apenas um campo escalar do objeto raiz, sem desserializar o restante do
+     * documento. A leitura para assim que o campo é encontrado.
+     */
+    public String extrairCampoRaiz(String json, String campo) {
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String nome = parser.currentName();
+                JsonToken valor = parser.nextToken();
+                if (campo.equals(nome)) {
+                    return valor == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            log.error("Erro na conversão JSON: {}", e.getMessage());
+            throw new RuntimeException("Erro ao converter JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tempo de conversão por origem: {@code string} para documentos já em memória
+     * e {@code fluxo} para a leitura direta do corpo da resposta, que inclui a
+     * espera pela rede.
+     */
+    private Timer timer(String origem) {
+        return Timer.builder("literalura.json.conversao")
+                .description("Tempo de conversão do JSON do Gutendex")
+                .tag("origem", origem)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
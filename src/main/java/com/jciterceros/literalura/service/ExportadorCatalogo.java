@@ -0,0 +1,149 @@
+package com.jciterceros.literalura.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jciterceros.literalura.dto.LinhaCatalogoDTO;
+import com.jciterceros.literalura.dto.LivroExportadoDTO;
+import com.jciterceros.literalura.exception.FormatoExportacaoInvalidoException;
+import com.jciterceros.literalura.repository.LivroRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Exporta o catálogo inteiro em NDJSON ou CSV a partir do cursor de
+ * {@link LivroRepository#percorrerCatalogo()}. As linhas livro × autor são
+ * agrupadas por livro à medida que chegam e escritas em seguida, sem montar a
+ * lista de livros nem carregar entidades no contexto de persistência; a memória
+ * usada não depende do tamanho do catálogo.
+ */
+@Service
+public class ExportadorCatalogo {
+
+    // Descarrega a saída a cada bloco de livros para que o cliente receba dados desde o início
+    private static final int LIVROS_POR_DESCARGA = 1000;
+
+    private static final String CABECALHO_CSV = "id,titulo,idioma,numero_downloads,autores";
+
+    public enum Formato {
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final String extensao;
+        private final MediaType tipo;
+
+        Formato(String extensao, MediaType tipo) {
+            this.extensao = extensao;
+            this.tipo = tipo;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        public MediaType getTipo() {
+            return tipo;
+        }
+
+        public static Formato de(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new FormatoExportacaoInvalidoException(valor);
+            }
+        }
+    }
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Escreve o catálogo na saída informada e devolve quantos livros foram
+     * exportados. A saída não é fechada.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(Formato formato, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (formato == Formato.CSV) {
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+        }
+
+        long exportados = 0;
+        try (Stream<LinhaCatalogoDTO> linhas = livroRepository.percorrerCatalogo()) {
+            Iterator<LinhaCatalogoDTO> iterador = linhas.iterator();
+            LinhaCatalogoDTO atual = null;
+            List<String> autores = new ArrayList<>();
+            while (iterador.hasNext()) {
+                LinhaCatalogoDTO linha = iterador.next();
+                if (atual != null && !atual.livroId().equals(linha.livroId())) {
+                    escrever(formato, escritor, atual, autores);
+                    autores = new ArrayList<>();
+                    if (++exportados % LIVROS_POR_DESCARGA == 0) {
+                        escritor.flush();
+                        saida.flush();
+                    }
+                }
+                atual = linha;
+                if (linha.autor() != null) {
+                    autores.add(linha.autor());
+                }
+            }
+            if (atual != null) {
+                escrever(formato, escritor, atual, autores);
+                exportados++;
+            }
+        }
+        escritor.flush();
+        return exportados;
+    }
+
+    private void escrever(Formato formato, Writer escritor, LinhaCatalogoDTO livro, List<String> autores)
+            throws IOException {
+        if (formato == Formato.NDJSON) {
+            escritor.write(objectMapper.writeValueAsString(new LivroExportadoDTO(livro.livroId(), livro.titulo(),
+                    livro.idioma(), livro.numeroDownloads(), autores)));
+        } else {
+            escritor.write(String.valueOf(livro.livroId()));
+            escritor.write(',');
+            escritor.write(campoCsv(livro.titulo()));
+            escritor.write(',');
+            escritor.write(campoCsv(livro.idioma()));
+            escritor.write(',');
+            escritor.write(livro.numeroDownloads() != null ? String.valueOf(livro.numeroDownloads()) : "");
+            escritor.write(',');
+            escritor.write(campoCsv(String.join("; ", autores)));
+        }
+        escritor.write('\n');
+    }
+
+    /**
+     * Aspas apenas quando o campo contém separador, aspas ou quebra de linha
+     * (RFC 4180), como espera o {@link com.jciterceros.literalura.util.LeitorCsv}.
+     */
+    private String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+                && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,317 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.ImportacaoDTO;
+import com.jciterceros.literalura.dto.ItemImportacaoDTO;
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.dto.PedidoImportacaoDTO;
+import com.jciterceros.literalura.dto.RespostaDTO;
+import com.jciterceros.literalura.exception.FilaImportacoesCheiaException;
+import com.jciterceros.literalura.exception.ImportacaoNaoEncontradaException;
+import com.jciterceros.literalura.exception.LoteInvalidoException;
+import com.jciterceros.literalura.model.Livro;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importações assíncronas a partir do Gutendex, por termo de busca ou por ids.
+ * O pedido só é registrado e enfileirado; um grupo fixo de trabalhadores busca
+ * as páginas e grava livro a livro, registrando o resultado de cada um.
+ * <p>
+ * A fila é limitada: com os trabalhadores ocupados e a fila cheia, novos pedidos
+ * são recusados ({@link FilaImportacoesCheiaException}) em vez de acumular
+ * trabalho sem limite.
+ */
+@Service
+public class FilaImportacoes {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaImportacoes.class);
+
+    // Tamanho da página do Gutendex: cada requisição por ids traz até 32 livros
+    private static final int IDS_POR_REQUISICAO = 32;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${literalura.importacoes.trabalhadores:4}")
+    private int trabalhadores;
+
+    @Value("${literalura.importacoes.capacidade-fila:100}")
+    private int capacidadeFila;
+
+    @Value("${literalura.importacoes.maximo-livros:1000}")
+    private int maximoLivros;
+
+    @Value("${literalura.importacoes.retidas:1000}")
+    private int retidas;
+
+    private ThreadPoolExecutor executor;
+
+    private final Map<String, Importacao> importacoes = new ConcurrentHashMap<>();
+    private final Queue<String> ordemChegada = new ConcurrentLinkedQueue<>();
+
+    private enum Estado {
+        AGUARDANDO, EM_ANDAMENTO, CONCLUIDA, FALHOU
+    }
+
+    /**
+     * Estado mutável de uma importação. Os contadores são escritos pelo
+     * trabalhador e lidos pelas consultas de situação.
+     */
+    private static final class Importacao {
+        final String id = UUID.randomUUID().toString();
+        final String termo;
+        final List<Long> ids;
+        final Instant criadaEm = Instant.now();
+        final List<ItemImportacaoDTO> itens = new ArrayList<>();
+        final AtomicInteger processados = new AtomicInteger();
+        final AtomicInteger salvos = new AtomicInteger();
+        final AtomicInteger falhas = new AtomicInteger();
+        volatile Estado estado = Estado.AGUARDANDO;
+        volatile Integer total;
+        volatile Instant iniciadaEm;
+        volatile Instant concluidaEm;
+        volatile long inicioNanos;
+        volatile long duracaoMs;
+        volatile String erro;
+
+        Importacao(String termo, List<Long> ids) {
+            this.termo = termo;
+            this.ids = ids;
+        }
+
+        void registrar(ItemImportacaoDTO item) {
+            synchronized (itens) {
+                itens.add(item);
+            }
+            processados.incrementAndGet();
+            if (item.erro() == null) {
+                salvos.incrementAndGet();
+            } else {
+                falhas.incrementAndGet();
+            }
+        }
+
+        ImportacaoDTO paraDTO() {
+            List<ItemImportacaoDTO> copia;
+            synchronized (itens) {
+                copia = List.copyOf(itens);
+            }
+            Long duracao = switch (estado) {
+                case AGUARDANDO -> null;
+                case EM_ANDAMENTO -> (System.nanoTime() - inicioNanos) / 1_000_000;
+                case CONCLUIDA, FALHOU -> duracaoMs;
+            };
+            return new ImportacaoDTO(id, estado.name(), termo, ids.size(), total, processados.get(), salvos.get(),
+                    falhas.get(), criadaEm, iniciadaEm, concluidaEm, duracao, erro, copia);
+        }
+    }
+
+    @PostConstruct
+    void inicializar() {
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(trabalhadores, trabalhadores, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "importacao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("literalura.importacoes.fila", executor, e -> e.getQueue().size())
+                .description("Importações aguardando um trabalhador")
+                .register(meterRegistry);
+        Gauge.builder("literalura.importacoes.ativas", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Importações em processamento")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Valida e enfileira o pedido, devolvendo a situação inicial (estado
+     * {@code AGUARDANDO}) com o id a consultar.
+     */
+    public ImportacaoDTO enviar(PedidoImportacaoDTO pedido) {
+        boolean temTermo = pedido != null && pedido.termo() != null && !pedido.termo().isBlank();
+        boolean temIds = pedido != null && pedido.ids() != null && !pedido.ids().isEmpty();
+        if (temTermo == temIds) {
+            throw new LoteInvalidoException("Informe um termo de busca ou uma lista de ids, não ambos");
+        }
+        List<Long> ids = List.of();
+        if (temIds) {
+            LinkedHashSet<Long> distintos = new LinkedHashSet<>();
+            for (Long id : pedido.ids()) {
+                if (id != null && id > 0) {
+                    distintos.add(id);
+                }
+            }
+            if (distintos.isEmpty()) {
+                throw new LoteInvalidoException("Informe ao menos um id válido");
+            }
+            if (distintos.size() > maximoLivros) {
+                throw new LoteInvalidoException("A importação aceita no máximo " + maximoLivros + " ids");
+            }
+            ids = List.copyOf(distintos);
+        }
+
+        Importacao importacao = new Importacao(temTermo ? pedido.termo().trim() : null, ids);
+        importacoes.put(importacao.id, importacao);
+        try {
+            executor.execute(() -> processar(importacao));
+        } catch (RejectedExecutionException e) {
+            importacoes.remove(importacao.id);
+            throw new FilaImportacoesCheiaException(capacidadeFila);
+        }
+        ordemChegada.add(importacao.id);
+        descartarAntigas();
+        return importacao.paraDTO();
+    }
+
+    public ImportacaoDTO consultar(String id) {
+        Importacao importacao = importacoes.get(id);
+        if (importacao == null) {
+            throw new ImportacaoNaoEncontradaException(id);
+        }
+        return importacao.paraDTO();
+    }
+
+    /**
+     * Mantém apenas as {@code retidas} importações mais recentes; as mais antigas
+     * já terminaram na prática, porque a fila é bem menor que esse limite.
+     */
+    private void descartarAntigas() {
+        while (importacoes.size() > retidas) {
+            String maisAntiga = ordemChegada.poll();
+            if (maisAntiga == null) {
+                return;
+            }
+            importacoes.remove(maisAntiga);
+        }
+    }
+
+    private void processar(Importacao importacao) {
+        importacao.inicioNanos = System.nanoTime();
+        importacao.iniciadaEm = Instant.now();
+        importacao.estado = Estado.EM_ANDAMENTO;
+        try {
+            if (importacao.termo != null) {
+                importarPorTermo(importacao);
+            } else {
+                importarPorIds(importacao);
+            }
+            importacao.estado = Estado.CONCLUIDA;
+        } catch (RuntimeException e) {
+            log.warn("Importação {} falhou: {}", importacao.id, e.getMessage());
+            importacao.erro = e.getMessage();
+            importacao.estado = Estado.FALHOU;
+        } finally {
+            importacao.duracaoMs = (System.nanoTime() - importacao.inicioNanos) / 1_000_000;
+            importacao.concluidaEm = Instant.now();
+            log.info("Importação {} {}: {} salvo(s), {} falha(s) em {} ms", importacao.id,
+                    importacao.estado == Estado.CONCLUIDA ? "concluída" : "encerrada com erro",
+                    importacao.salvos.get(), importacao.falhas.get(), importacao.duracaoMs);
+        }
+    }
+
+    /**
+     * Segue a paginação da busca até esgotar os resultados ou atingir
+     * {@code maximoLivros}.
+     */
+    private void importarPorTermo(Importacao importacao) {
+        RespostaDTO resposta = livroService.buscarNaApi(importacao.termo);
+        importacao.total = resposta.total() != null ? Math.min(resposta.total(), maximoLivros) : null;
+        int restantes = maximoLivros;
+        while (true) {
+            List<LivroDTO> livros = resposta.resultados() != null ? resposta.resultados() : List.of();
+            for (LivroDTO livro : livros) {
+                if (restantes-- <= 0 || Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                salvar(importacao, livro);
+            }
+            if (resposta.proxima() == null || restantes <= 0) {
+                return;
+            }
+            resposta = livroService.buscarPaginaNaApi(resposta.proxima());
+        }
+    }
+
+    private void importarPorIds(Importacao importacao) {
+        importacao.total = importacao.ids.size();
+        for (int i = 0; i < importacao.ids.size(); i += IDS_POR_REQUISICAO) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            List<Long> bloco = importacao.ids.subList(i, Math.min(i + IDS_POR_REQUISICAO, importacao.ids.size()));
+            long inicio = System.nanoTime();
+            List<LivroDTO> livros;
+            try {
+                RespostaDTO resposta = livroService.buscarNaApiPorIds(bloco);
+                livros = resposta.resultados() != null ? resposta.resultados() : List.of();
+            } catch (RuntimeException e) {
+                // Falha da requisição: todos os ids do bloco ficam sem resultado
+                for (Long id : bloco) {
+                    importacao.registrar(new ItemImportacaoDTO(id, null, null, e.getMessage(), duracaoMs(inicio)));
+                }
+                continue;
+            }
+            long duracaoRequisicao = duracaoMs(inicio);
+            // Ids do bloco que o Gutendex não devolveu: cada um vira um item com erro
+            Set<Long> ausentes = new LinkedHashSet<>(bloco);
+            for (LivroDTO livro : livros) {
+                ausentes.remove(livro.gutendexId());
+                salvar(importacao, livro);
+            }
+            for (Long id : ausentes) {
+                importacao.registrar(new ItemImportacaoDTO(id, null, null, "Id não encontrado no Gutendex",
+                        duracaoRequisicao));
+            }
+        }
+    }
+
+    private void salvar(Importacao importacao, LivroDTO livro) {
+        long inicio = System.nanoTime();
+        try {
+            Livro salvo = livroService.salvarLivro(livro);
+            importacao.registrar(new ItemImportacaoDTO(livro.gutendexId(), livro.titulo(), salvo.getId(), null,
+                    duracaoMs(inicio)));
+        } catch (RuntimeException e) {
+            importacao.registrar(new ItemImportacaoDTO(livro.gutendexId(), livro.titulo(), null, e.getMessage(),
+                    duracaoMs(inicio)));
+        }
+    }
+
+    private static long duracaoMs(long inicio) {
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+}
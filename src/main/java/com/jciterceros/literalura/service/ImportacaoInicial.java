@@ -0,0 +1,33 @@
+package com.jciterceros.literalura.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Importa um dump do catálogo do Gutenberg na inicialização, quando
+ * {@code literalura.importacao.arquivo} é informado, por exemplo
+ * {@code --literalura.importacao.arquivo=pg_catalog.csv.gz}.
+ */
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "literalura.importacao.arquivo")
+public class ImportacaoInicial implements CommandLineRunner {
+
+    @Autowired
+    private ImportadorCatalogo importadorCatalogo;
+
+    @Value("${literalura.importacao.arquivo}")
+    private String arquivo;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Roda depois do DataLoader e antes do aquecimento dos índices
+        importadorCatalogo.importar(Path.of(arquivo));
+    }
+}
@@ -0,0 +1,216 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.AutorDTO;
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.dto.RelatorioImportacaoDTO;
+import com.jciterceros.literalura.util.EntradaMapeada;
+import com.jciterceros.literalura.util.LeitorCsv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Importa o catálogo do Project Gutenberg a partir do arquivo {@code pg_catalog.csv}
+ * (ou {@code pg_catalog.csv.gz}), sem acesso à rede. O arquivo é lido por janelas
+ * mapeadas em memória e interpretado registro a registro; os livros são gravados
+ * em lotes, de modo que o heap usado depende do tamanho do lote e não do arquivo.
+ * <p>
+ * Colunas usadas: {@code Type} (só {@code Text} é importado), {@code Title},
+ * {@code Language} ("en; fr") e {@code Authors} ("Sobrenome, Nome, 1812-1870; ...").
+ * O catálogo não traz número de downloads.
+ */
+@Service
+public class ImportadorCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportadorCatalogo.class);
+
+    // "Dickens, Charles, 1812-1870", "Plato, 428? BCE-348? BCE", "Chaucer, Geoffrey, -1400"
+    private static final Pattern ANOS_AUTOR = Pattern.compile(
+            ",\\s*(active\\s+)?(?:(\\d{1,4})\\??\\s*(BCE)?)?\\s*-\\s*(?:(\\d{1,4})\\??\\s*(BCE)?)?\\s*$");
+    // Papéis como "[Illustrator]" ou "[Translator]"
+    private static final Pattern PAPEL_AUTOR = Pattern.compile("\\s*\\[[^]]*]");
+    private static final Pattern QUEBRAS_DE_LINHA = Pattern.compile("\\s*[\\r\\n]+\\s*");
+
+    @Autowired
+    private LivroService livroService;
+
+    @Value("${literalura.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    public RelatorioImportacaoDTO importar(Path arquivo) {
+        long inicioNanos = System.nanoTime();
+        long registros = 0;
+        long salvos = 0;
+        long ignorados = 0;
+        long falhas = 0;
+
+        try (EntradaMapeada mapeada = new EntradaMapeada(arquivo);
+             InputStream entrada = arquivo.getFileName().toString().endsWith(".gz")
+                     ? new GZIPInputStream(mapeada, 64 * 1024) : mapeada) {
+            LeitorCsv leitor = new LeitorCsv(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+            Map<String, Integer> colunas = lerCabecalho(leitor.proximoRegistro());
+
+            List<LivroDTO> lote = new ArrayList<>(tamanhoLote);
+            List<String> registro;
+            while ((registro = leitor.proximoRegistro()) != null) {
+                registros++;
+                LivroDTO livro = converter(registro, colunas);
+                if (livro == null) {
+                    ignorados++;
+                    continue;
+                }
+                lote.add(livro);
+                if (lote.size() >= tamanhoLote) {
+                    ResultadoLote resultado = persistirLote(lote);
+                    salvos += resultado.gravados();
+                    falhas += resultado.falhas();
+                    // Títulos já cadastrados ou repetidos no lote
+                    ignorados += lote.size() - resultado.gravados() - resultado.falhas();
+                    lote.clear();
+                    log.info("Importação: {} registro(s) lidos, {} livro(s) salvos ({}% do arquivo)", registros, salvos,
+                            mapeada.getTamanho() == 0 ? 100 : mapeada.getPosicao() * 100 / mapeada.getTamanho());
+                }
+            }
+            if (!lote.isEmpty()) {
+                ResultadoLote resultado = persistirLote(lote);
+                salvos += resultado.gravados();
+                falhas += resultado.falhas();
+                ignorados += lote.size() - resultado.gravados() - resultado.falhas();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o catálogo " + arquivo, e);
+        }
+
+        long duracaoNanos = System.nanoTime() - inicioNanos;
+        double segundos = duracaoNanos / 1_000_000_000.0;
+        double livrosPorSegundo = segundos > 0 ? salvos / segundos : 0;
+        log.info("Importação de {} concluída: {} registro(s), {} livro(s) salvos, {} ignorado(s), {} falha(s) em {}s",
+                arquivo, registros, salvos, ignorados, falhas, String.format("%.1f", segundos));
+        return new RelatorioImportacaoDTO(arquivo.toString(), registros, salvos, ignorados, falhas,
+                duracaoNanos / 1_000_000, livrosPorSegundo);
+    }
+
+    private record ResultadoLote(int gravados, int falhas) {
+    }
+
+    /**
+     * Grava um lote em uma transação. Se o lote falhar como um todo, grava livro
+     * a livro para isolar o registro problemático.
+     */
+    private ResultadoLote persistirLote(List<LivroDTO> lote) {
+        try {
+            return new ResultadoLote(livroService.salvarLivros(lote).size(), 0);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} livro(s), gravando um a um: {}", lote.size(), e.getMessage());
+        }
+        int gravados = 0;
+        int falhas = 0;
+        for (LivroDTO livro : lote) {
+            try {
+                // Duplicados não contam como gravados, como no lote inteiro
+                if (livroService.gravarLivro(livro).novo()) {
+                    gravados++;
+                }
+            } catch (RuntimeException e) {
+                falhas++;
+                log.warn("Falha ao importar '{}': {}", livro.titulo(), e.getMessage());
+            }
+        }
+        return new ResultadoLote(gravados, falhas);
+    }
+
+    private Map<String, Integer> lerCabecalho(List<String> cabecalho) {
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Catálogo vazio");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            // O arquivo pode começar com BOM
+            colunas.put(cabecalho.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        for (String obrigatoria : List.of("Type", "Title", "Language", "Authors")) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new IllegalArgumentException("Coluna ausente no catálogo: " + obrigatoria);
+            }
+        }
+        return colunas;
+    }
+
+    private LivroDTO converter(List<String> registro, Map<String, Integer> colunas) {
+        if (!"Text".equals(valor(registro, colunas, "Type"))) {
+            return null;
+        }
+        String titulo = QUEBRAS_DE_LINHA.matcher(valor(registro, colunas, "Title")).replaceAll(" ").trim();
+        List<String> idiomas = dividir(valor(registro, colunas, "Language"));
+        if (titulo.isEmpty() || idiomas.isEmpty()) {
+            return null;
+        }
+        List<AutorDTO> autores = dividir(valor(registro, colunas, "Authors")).stream()
+                .map(ImportadorCatalogo::converterAutor)
+                .filter(autor -> !autor.nome().isEmpty())
+                .toList();
+        return new LivroDTO(gutendexId(registro, colunas), titulo, idiomas, null, autores);
+    }
+
+    static AutorDTO converterAutor(String texto) {
+        String semPapel = PAPEL_AUTOR.matcher(texto).replaceAll("").trim();
+        Matcher anos = ANOS_AUTOR.matcher(semPapel);
+        if (!anos.find()) {
+            return new AutorDTO(semPapel, null, null);
+        }
+        String nome = semPapel.substring(0, anos.start()).trim();
+        if (anos.group(1) != null) {
+            // "active 1580-1620": período de atividade, não nascimento e morte
+            return new AutorDTO(nome, null, null);
+        }
+        return new AutorDTO(nome, ano(anos.group(2), anos.group(3)), ano(anos.group(4), anos.group(5)));
+    }
+
+    private static Integer ano(String ano, String antesDeCristo) {
+        if (ano == null) {
+            return null;
+        }
+        int valor = Integer.parseInt(ano);
+        return antesDeCristo != null ? -valor : valor;
+    }
+
+    /**
+     * Número do livro na coluna {@code Text#}, o mesmo id usado pelo Gutendex.
+     */
+    private static Long gutendexId(List<String> registro, Map<String, Integer> colunas) {
+        if (!colunas.containsKey("Text#")) {
+            return null;
+        }
+        String texto = valor(registro, colunas, "Text#").trim();
+        return texto.matches("\\d{1,18}") ? Long.valueOf(texto) : null;
+    }
+
+    private static String valor(List<String> registro, Map<String, Integer> colunas, String coluna) {
+        int indice = colunas.get(coluna);
+        return indice < registro.size() ? registro.get(indice) : "";
+    }
+
+    private static List<String> dividir(String lista) {
+        return Arrays.stream(lista.split(";"))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+}
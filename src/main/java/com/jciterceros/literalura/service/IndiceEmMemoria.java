@@ -0,0 +1,14 @@
+package com.jciterceros.literalura.service;
+
+/**
+ * Estrutura derivada do banco, mantida em memória ou em uma tabela auxiliar. É
+ * carregada na inicialização pelo {@link AquecedorIndices} e atualizada
+ * incrementalmente a cada gravação.
+ */
+public interface IndiceEmMemoria {
+
+    /**
+     * Descarta o conteúdo atual e reconstrói o índice a partir do banco.
+     */
+    void recarregar();
+}
@@ -0,0 +1,170 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.LinhaCatalogoDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.evento.LivrosSalvosEvento;
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.repository.LivroRepository;
+import com.jciterceros.literalura.util.NormalizadorTexto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória sobre títulos e nomes de autores. Os termos são
+ * normalizados (sem acentos e sem caixa) e todos precisam aparecer no livro; o
+ * último termo da consulta também casa por prefixo. Os resultados são ordenados
+ * por número de downloads.
+ * <p>
+ * Os termos dos títulos também ficam em um conjunto à parte, para a busca só por
+ * título ({@link #buscarPorTitulo}).
+ */
+@Component
+public class IndiceTitulos implements IndiceEmMemoria {
+
+    private static final int TAMANHO_MINIMO_PREFIXO = 3;
+
+    private static final Comparator<LivroResumoDTO> POR_DOWNLOADS = Comparator
+            .comparing((LivroResumoDTO livro) -> livro.numeroDownloads() != null ? livro.numeroDownloads() : 0)
+            .thenComparing(LivroResumoDTO::id, Comparator.reverseOrder());
+
+    private final Map<Long, LivroResumoDTO> documentos = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> termos = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<Long>> termosTitulo = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void recarregar() {
+        documentos.clear();
+        termos.clear();
+        termosTitulo.clear();
+        try (Stream<LinhaCatalogoDTO> linhas = livroRepository.percorrerCatalogo()) {
+            linhas.forEach(linha -> {
+                documentos.computeIfAbsent(linha.livroId(), id -> {
+                    indexarTitulo(id, linha.titulo());
+                    return new LivroResumoDTO(id, linha.titulo(), linha.idioma(), linha.numeroDownloads());
+                });
+                indexarTexto(termos, linha.livroId(), NormalizadorTexto.normalizarNomeAutor(linha.autor()));
+            });
+        }
+    }
+
+    public void indexar(Livro livro) {
+        indexarTitulo(livro.getId(), livro.getTitulo());
+        for (Autor autor : livro.getAutores()) {
+            indexarTexto(termos, livro.getId(), NormalizadorTexto.normalizarNomeAutor(autor.getNome()));
+        }
+        documentos.put(livro.getId(),
+                new LivroResumoDTO(livro.getId(), livro.getTitulo(), livro.getIdioma(), livro.getNumeroDownloads()));
+    }
+
+    /**
+     * Atualiza o número de downloads usado na ordenação dos resultados.
+     */
+    public void atualizarDownloads(Long id, Integer numeroDownloads) {
+        documentos.computeIfPresent(id, (chave, livro) -> new LivroResumoDTO(livro.id(), livro.titulo(),
+                livro.idioma(), numeroDownloads));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarLivros(LivrosSalvosEvento evento) {
+        evento.livros().forEach(this::indexar);
+    }
+
+    public List<LivroResumoDTO> buscar(String consulta, int limite) {
+        return buscar(termos, consulta, limite);
+    }
+
+    /**
+     * Como {@link #buscar}, mas os termos só casam com o título: "Jorge" não traz
+     * os livros de Jorge Amado.
+     */
+    public List<LivroResumoDTO> buscarPorTitulo(String consulta, int limite) {
+        return buscar(termosTitulo, consulta, limite);
+    }
+
+    private List<LivroResumoDTO> buscar(NavigableMap<String, Set<Long>> indice, String consulta, int limite) {
+        String[] tokens = tokenizar(NormalizadorTexto.normalizar(consulta));
+        if (tokens.length == 0 || limite <= 0) {
+            return List.of();
+        }
+
+        // Conjunto de ids de cada termo; o último também aceita prefixo
+        List<Set<Long>> conjuntos = new ArrayList<>(tokens.length);
+        for (int i = 0; i < tokens.length; i++) {
+            boolean ultimo = i == tokens.length - 1;
+            Set<Long> ids = ultimo && tokens[i].length() >= TAMANHO_MINIMO_PREFIXO
+                    ? porPrefixo(indice, tokens[i])
+                    : indice.getOrDefault(tokens[i], Set.of());
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            conjuntos.add(ids);
+        }
+
+        // Interseção a partir do menor conjunto, mantendo só os "limite" mais baixados
+        conjuntos.sort(Comparator.comparingInt(Set::size));
+        PriorityQueue<LivroResumoDTO> melhores = new PriorityQueue<>(limite + 1, POR_DOWNLOADS);
+        candidatos:
+        for (Long id : conjuntos.get(0)) {
+            for (int i = 1; i < conjuntos.size(); i++) {
+                if (!conjuntos.get(i).contains(id)) {
+                    continue candidatos;
+                }
+            }
+            LivroResumoDTO documento = documentos.get(id);
+            if (documento == null) {
+                continue;
+            }
+            melhores.offer(documento);
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        List<LivroResumoDTO> resultado = new ArrayList<>(melhores);
+        resultado.sort(POR_DOWNLOADS.reversed());
+        return resultado;
+    }
+
+    private static Set<Long> porPrefixo(NavigableMap<String, Set<Long>> indice, String prefixo) {
+        Set<Long> ids = new HashSet<>();
+        indice.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false)
+                .values()
+                .forEach(ids::addAll);
+        return ids;
+    }
+
+    private void indexarTitulo(Long id, String titulo) {
+        String normalizado = NormalizadorTexto.normalizar(titulo);
+        indexarTexto(termos, id, normalizado);
+        indexarTexto(termosTitulo, id, normalizado);
+    }
+
+    private static void indexarTexto(NavigableMap<String, Set<Long>> indice, Long id, String textoNormalizado) {
+        for (String token : tokenizar(textoNormalizado)) {
+            indice.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static String[] tokenizar(String textoNormalizado) {
+        return textoNormalizado.isEmpty() ? new String[0] : textoNormalizado.split(" ");
+    }
+}
@@ -0,0 +1,234 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.AutorResumoDTO;
+import com.jciterceros.literalura.evento.LivrosSalvosEvento;
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.repository.AutorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória dos períodos de vida dos autores.
+ * <ul>
+ * <li>"vivos em um ano": árvore de segmentos sobre os anos; cada período é
+ * guardado nos O(log n) nós que o cobrem e a consulta percorre só o caminho da
+ * folha do ano até a raiz;</li>
+ * <li>contagem de vivos por ano: árvore de Fenwick sobre a diferença
+ * nascimentos − falecimentos;</li>
+ * <li>nascidos/falecidos em um intervalo: mapas ordenados por ano.</li>
+ * </ul>
+ * A semântica segue as consultas do {@code AutorRepository}: autor sem ano de
+ * nascimento nunca está "vivo" e ano de falecimento nulo significa vivo até hoje.
+ */
+@Component
+public class IndiceVidaAutores implements IndiceEmMemoria {
+
+    static final int ANO_MINIMO = -4000;
+    static final int ANO_MAXIMO = 2200;
+
+    private static final int ANOS = ANO_MAXIMO - ANO_MINIMO + 1;
+    private static final int FOLHAS = Integer.highestOneBit(ANOS - 1) << 1;
+
+    private static final Comparator<AutorResumoDTO> POR_NOME = Comparator.comparing(AutorResumoDTO::nome,
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private final Map<Long, AutorResumoDTO> autores = new HashMap<>();
+    private final TreeMap<Integer, List<Long>> porNascimento = new TreeMap<>();
+    private final TreeMap<Integer, List<Long>> porFalecimento = new TreeMap<>();
+
+    @SuppressWarnings("unchecked")
+    private List<Long>[] segmentos = new List[2 * FOLHAS];
+    private long[] fenwick = new long[ANOS + 1];
+    private long[] variacaoPorAno = new long[ANOS];
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void recarregar() {
+        List<AutorResumoDTO> todos = autorRepository.buscarResumos();
+        trava.writeLock().lock();
+        try {
+            autores.clear();
+            porNascimento.clear();
+            porFalecimento.clear();
+            segmentos = new List[2 * FOLHAS];
+            fenwick = new long[ANOS + 1];
+            variacaoPorAno = new long[ANOS];
+            todos.forEach(this::inserir);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void registrar(Autor autor) {
+        if (autor.getId() == null) {
+            return;
+        }
+        AutorResumoDTO resumo = new AutorResumoDTO(autor.getId(), autor.getNome(), autor.getAnoNascimento(),
+                autor.getAnoFalecimento());
+        trava.writeLock().lock();
+        try {
+            if (!autores.containsKey(resumo.id())) {
+                inserir(resumo);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarLivros(LivrosSalvosEvento evento) {
+        for (Livro livro : evento.livros()) {
+            livro.getAutores().forEach(this::registrar);
+        }
+    }
+
+    public List<AutorResumoDTO> vivosEm(int ano) {
+        trava.readLock().lock();
+        try {
+            List<AutorResumoDTO> resultado = new ArrayList<>();
+            if (ano < ANO_MINIMO || ano > ANO_MAXIMO) {
+                return resultado;
+            }
+            for (int no = FOLHAS + (ano - ANO_MINIMO); no >= 1; no >>= 1) {
+                if (segmentos[no] != null) {
+                    segmentos[no].forEach(id -> resultado.add(autores.get(id)));
+                }
+            }
+            resultado.sort(POR_NOME);
+            return resultado;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public List<AutorResumoDTO> nascidosEntre(int de, int ate) {
+        return noIntervalo(porNascimento, de, ate);
+    }
+
+    public List<AutorResumoDTO> falecidosEntre(int de, int ate) {
+        return noIntervalo(porFalecimento, de, ate);
+    }
+
+    /**
+     * Quantidade de autores vivos em cada ano do intervalo, em ordem cronológica.
+     */
+    public Map<Integer, Long> contagemVivosPorAno(int de, int ate) {
+        int inicio = Math.max(de, ANO_MINIMO);
+        int fim = Math.min(ate, ANO_MAXIMO);
+        Map<Integer, Long> contagem = new LinkedHashMap<>();
+        if (inicio > fim) {
+            return contagem;
+        }
+        trava.readLock().lock();
+        try {
+            long vivos = somaAte(inicio - ANO_MINIMO);
+            contagem.put(inicio, vivos);
+            for (int ano = inicio + 1; ano <= fim; ano++) {
+                vivos += variacaoPorAno[ano - ANO_MINIMO];
+                contagem.put(ano, vivos);
+            }
+            return contagem;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private List<AutorResumoDTO> noIntervalo(TreeMap<Integer, List<Long>> porAno, int de, int ate) {
+        if (de > ate) {
+            return List.of();
+        }
+        trava.readLock().lock();
+        try {
+            List<AutorResumoDTO> resultado = new ArrayList<>();
+            for (Collection<Long> ids : porAno.subMap(de, true, ate, true).values()) {
+                ids.forEach(id -> resultado.add(autores.get(id)));
+            }
+            resultado.sort(POR_NOME);
+            return resultado;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Chamados com a trava de escrita
+
+    private void inserir(AutorResumoDTO autor) {
+        autores.put(autor.id(), autor);
+        if (autor.anoNascimento() != null) {
+            porNascimento.computeIfAbsent(autor.anoNascimento(), ano -> new ArrayList<>()).add(autor.id());
+        }
+        if (autor.anoFalecimento() != null) {
+            porFalecimento.computeIfAbsent(autor.anoFalecimento(), ano -> new ArrayList<>()).add(autor.id());
+        }
+        if (autor.anoNascimento() == null) {
+            return;
+        }
+
+        int nascimento = limitar(autor.anoNascimento()) - ANO_MINIMO;
+        int falecimento = limitar(autor.anoFalecimento() != null ? autor.anoFalecimento() : ANO_MAXIMO) - ANO_MINIMO;
+        if (falecimento < nascimento) {
+            return;
+        }
+
+        // Árvore de segmentos: decomposição canônica de [nascimento, falecimento]
+        for (int esquerda = nascimento + FOLHAS, direita = falecimento + FOLHAS + 1; esquerda < direita;
+                esquerda >>= 1, direita >>= 1) {
+            if ((esquerda & 1) == 1) {
+                adicionarNoSegmento(esquerda++, autor.id());
+            }
+            if ((direita & 1) == 1) {
+                adicionarNoSegmento(--direita, autor.id());
+            }
+        }
+
+        // Fenwick: +1 no nascimento, −1 no ano seguinte ao falecimento
+        variar(nascimento, 1);
+        if (falecimento + 1 < ANOS) {
+            variar(falecimento + 1, -1);
+        }
+    }
+
+    private void adicionarNoSegmento(int no, Long id) {
+        if (segmentos[no] == null) {
+            segmentos[no] = new ArrayList<>();
+        }
+        segmentos[no].add(id);
+    }
+
+    private void variar(int indice, long delta) {
+        variacaoPorAno[indice] += delta;
+        for (int i = indice + 1; i <= ANOS; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    private long somaAte(int indice) {
+        long soma = 0;
+        for (int i = indice + 1; i > 0; i -= i & -i) {
+            soma += fenwick[i];
+        }
+        return soma;
+    }
+
+    private static int limitar(int ano) {
+        return Math.max(ANO_MINIMO, Math.min(ANO_MAXIMO, ano));
+    }
+}
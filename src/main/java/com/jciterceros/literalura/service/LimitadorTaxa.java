@@ -0,0 +1,60 @@
+package com.jciterceros.literalura.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Balde de fichas que limita a taxa de requisições ao Gutendex. O balde começa
+ * cheio (permite uma rajada) e é reposto continuamente na taxa configurada.
+ * <p>
+ * Quem não encontra ficha disponível reserva a próxima e dorme até ela ser
+ * reposta, fora da trava; assim as esperas ficam espaçadas na ordem de chegada.
+ */
+@Component
+public class LimitadorTaxa {
+
+    @Value("${literalura.gutendex.taxa-por-segundo:10}")
+    private double taxaPorSegundo;
+
+    @Value("${literalura.gutendex.rajada:10}")
+    private int rajada;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private double fichas;
+    private long ultimaReposicao;
+
+    @PostConstruct
+    void inicializar() {
+        fichas = rajada;
+        ultimaReposicao = System.nanoTime();
+    }
+
+    /**
+     * Bloqueia até que uma requisição possa ser feita. Com taxa zero ou negativa
+     * o limite fica desativado.
+     */
+    public void adquirir() throws InterruptedException {
+        if (taxaPorSegundo <= 0) {
+            return;
+        }
+        long esperaNanos;
+        trava.lock();
+        try {
+            long agora = System.nanoTime();
+            fichas = Math.min(rajada, fichas + (agora - ultimaReposicao) * taxaPorSegundo / 1_000_000_000.0);
+            ultimaReposicao = agora;
+            // Saldo negativo é a fila de quem já reservou e ainda está esperando
+            fichas -= 1;
+            esperaNanos = fichas >= 0 ? 0 : (long) (-fichas / taxaPorSegundo * 1_000_000_000.0);
+        } finally {
+            trava.unlock();
+        }
+        if (esperaNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(esperaNanos);
+        }
+    }
+}
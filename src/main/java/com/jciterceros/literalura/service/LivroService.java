@@ -1,21 +1,53 @@
 package com.jciterceros.literalura.service;
 
+import com.jciterceros.literalura.dto.AutorDTO;
+import com.jciterceros.literalura.dto.AutorResumoDTO;
+import com.jciterceros.literalura.dto.ContagemIdiomaDTO;
 import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.dto.PaginaDTO;
+import com.jciterceros.literalura.dto.RespostaDTO;
+import com.jciterceros.literalura.evento.LivrosSalvosEvento;
+import com.jciterceros.literalura.exception.CursorInvalidoException;
 import com.jciterceros.literalura.model.Autor;
 import com.jciterceros.literalura.model.Livro;
 import com.jciterceros.literalura.repository.AutorRepository;
 import com.jciterceros.literalura.repository.LivroRepository;
+import com.jciterceros.literalura.util.ChamadaUnica;
+import com.jciterceros.literalura.util.NormalizadorTexto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class LivroService {
 
+    private static final Logger log = LoggerFactory.getLogger(LivroService.class);
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+    private static final int TAMANHO_MAXIMO_CONSULTA_IN = 1000;
+    private static final String URL_GUTENDEX = "https://gutendex.com/books/";
+
     @Autowired
     private LivroRepository livroRepository;
 
@@ -28,60 +60,270 @@ public class LivroService {
     @Autowired
     private ConverteDados converteDados;
 
+    @Autowired
+    private ResolvedorAutores resolvedorAutores;
+
+    @Autowired
+    private IndiceTitulos indiceTitulos;
+
+    @Autowired
+    private IndiceVidaAutores indiceVidaAutores;
+
+    @Autowired
+    private RankingDownloads rankingDownloads;
+
+    @Autowired
+    private ContagemIdiomas contagemIdiomas;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ChamadaUnica<String, RespostaDTO> buscasEmAndamento = new ChamadaUnica<>();
+
+    @PostConstruct
+    void registrarMedidores() {
+        FunctionCounter.builder("literalura.http.coalescidas", buscasEmAndamento, ChamadaUnica::getCoalescidas)
+                .description("Chamadas atendidas por uma requisição idêntica já em andamento")
+                .tag("nivel", "resposta").register(meterRegistry);
+    }
+
+    /**
+     * Livro devolvido por {@link #gravarLivro}; {@code novo} diz se esta chamada
+     * inseriu a linha ou se o livro já existia.
+     */
+    public record LivroGravado(Livro livro, boolean novo) {
+    }
+
     @Transactional
     public Livro salvarLivro(LivroDTO livroDTO) {
-        // Verificar se o livro já existe
-        Optional<Livro> livroExistente = livroRepository.findByTituloContainingIgnoreCase(livroDTO.titulo());
+        return gravarLivro(livroDTO).livro();
+    }
+
+    /**
+     * Como {@link #salvarLivro}, informando se o livro foi inserido agora: quem
+     * conta livros gravados conta só os novos, como em {@link #salvarLivros}.
+     */
+    @Transactional
+    public LivroGravado gravarLivro(LivroDTO livroDTO) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+
+        // Verificar se o livro já existe, pela chave natural (índice único)
+        String idioma = livroDTO.idiomas().get(0); // Pega o primeiro idioma
+        Optional<Livro> livroExistente = buscarExistente(livroDTO.gutendexId(), idioma, livroDTO.titulo());
         if (livroExistente.isPresent()) {
-            System.out.println("Livro já existe: " + livroDTO.titulo());
-            return livroExistente.get();
+            log.debug("Livro já existe: {}", livroDTO.titulo());
+            amostra.stop(timerPersistencia("existente"));
+            return new LivroGravado(livroExistente.get(), false);
         }
 
-        System.out.println("Salvando novo livro: " + livroDTO.titulo());
+        log.debug("Salvando novo livro: {}", livroDTO.titulo());
 
         // Converter DTO para entidade
         Livro livro = new Livro();
+        livro.setGutendexId(livroDTO.gutendexId());
         livro.setTitulo(livroDTO.titulo());
-        livro.setIdioma(livroDTO.idiomas().get(0)); // Pega o primeiro idioma
+        livro.setIdioma(idioma);
         livro.setNumeroDownloads(livroDTO.numeroDownloads());
 
-        // Processar autores
-        List<Autor> autores = livroDTO.autores().stream()
-                .map(this::processarAutor)
-                .collect(Collectors.toList());
+        // A linha do livro é gravada antes dos autores: se outra transação gravou a
+        // mesma chave, o MERGE não insere e esta transação termina sem ter escrito nada
+        Optional<Long> idInserido = livroRepository.inserirSeAusente(livro);
+        if (idInserido.isEmpty()) {
+            log.debug("Livro gravado por outra transação: {}", livroDTO.titulo());
+            amostra.stop(timerPersistencia("existente"));
+            Livro gravadoPorOutra = livroRepository.findByChaveNatural(
+                            Livro.chaveNatural(livroDTO.gutendexId(), idioma, livroDTO.titulo()))
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Livro gravado por outra transação não encontrado: " + livroDTO.titulo()));
+            return new LivroGravado(gravadoPorOutra, false);
+        }
 
-        System.out.println("Autores processados: " + autores.size() + " autor(es)");
+        // Processar autores (um mesmo autor repetido na lista é resolvido uma única vez)
+        List<Autor> autoresNovos = new ArrayList<>();
+        List<Autor> autores = resolverAutores(livroDTO.autores(), new HashMap<>(), autoresNovos);
+        autorRepository.inserirSeAusentes(autoresNovos);
+        livroRepository.vincularAutores(idInserido.get(), autores);
 
-        // Associar autores ao livro
-        livro.setAutores(autores);
+        log.debug("Autores processados: {} autor(es)", autores.size());
 
-        // Salvar livro com autores
-        Livro livroSalvo = livroRepository.save(livro);
-        System.out.println("Livro salvo com sucesso: " + livroSalvo.getTitulo() + " (ID: " + livroSalvo.getId() + ")");
-        System.out.println("Autores associados: " + livroSalvo.getAutores().size() + " autor(es)");
+        Livro livroSalvo = carregarComAutores(List.of(idInserido.get())).get(0);
+        contagemIdiomas.registrar(List.of(livroSalvo));
+        log.debug("Livro salvo com sucesso: {} (ID: {}), {} autor(es) associado(s)",
+                livroSalvo.getTitulo(), livroSalvo.getId(), livroSalvo.getAutores().size());
 
-        return livroSalvo;
+        eventos.publishEvent(new LivrosSalvosEvento(List.of(livroSalvo)));
+        amostra.stop(timerPersistencia("novo"));
+        return new LivroGravado(livroSalvo, true);
     }
 
+    /**
+     * Procura o livro pela chave natural. Um livro com id do Gutendex que não foi
+     * encontrado por ele ainda pode ter sido gravado antes sem id (sementes,
+     * catálogos sem a coluna {@code Text#}) com o mesmo título e idioma; nesse caso
+     * o registro existente adota o id.
+     */
+    private Optional<Livro> buscarExistente(Long gutendexId, String idioma, String titulo) {
+        String chavePorTitulo = Livro.chaveNatural(null, idioma, titulo);
+        if (gutendexId == null) {
+            return livroRepository.findByChaveNatural(chavePorTitulo);
+        }
+        Optional<Livro> porId = livroRepository.findByChaveNatural(Livro.chaveNatural(gutendexId, idioma, titulo));
+        if (porId.isPresent()) {
+            return porId;
+        }
+        Optional<Livro> porTitulo = livroRepository.findByChaveNatural(chavePorTitulo);
+        porTitulo.ifPresent(livro -> livro.setGutendexId(gutendexId));
+        return porTitulo;
+    }
+
+    /**
+     * Tempo de gravação de um livro, sem o commit, que acontece ao sair do proxy
+     * transacional.
+     */
+    private Timer timerPersistencia(String resultado) {
+        return Timer.builder("literalura.persistencia")
+                .description("Tempo de gravação de um livro e seus autores")
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Grava vários livros em uma única transação. Os ids vêm das sequências em
+     * blocos e os inserts de autores, livros e {@code livro_autor} seguem em lotes
+     * JDBC ({@code hibernate.jdbc.batch_size}); os autores novos vão em um lote de
+     * {@code MERGE}. Livros cuja chave natural já existe
+     * (inclusive, para os que têm id do Gutendex, a chave por título e idioma) ou
+     * se repete no lote são ignorados; um autor repetido no lote é gravado uma
+     * única vez.
+     *
+     * @return os livros gravados
+     */
     @Transactional
-    private Autor processarAutor(com.jciterceros.literalura.dto.AutorDTO autorDTO) {
-        // Verificar se o autor já existe
-        Optional<Autor> autorExistente = autorRepository.findByNomeContainingIgnoreCase(autorDTO.nome());
-        if (autorExistente.isPresent()) {
-            System.out.println("Autor encontrado: " + autorDTO.nome());
-            return autorExistente.get();
+    public List<Livro> salvarLivros(Collection<LivroDTO> livrosDTO) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+
+        Map<String, LivroDTO> porChave = new LinkedHashMap<>();
+        // Chave por título e idioma → chave pelo id do Gutendex, para os livros que têm id
+        Map<String, String> chavesPorTitulo = new HashMap<>();
+        for (LivroDTO livroDTO : livrosDTO) {
+            if (livroDTO.titulo() != null && livroDTO.idiomas() != null && !livroDTO.idiomas().isEmpty()) {
+                String idioma = livroDTO.idiomas().get(0);
+                String chave = Livro.chaveNatural(livroDTO.gutendexId(), idioma, livroDTO.titulo());
+                if (porChave.putIfAbsent(chave, livroDTO) == null && livroDTO.gutendexId() != null) {
+                    chavesPorTitulo.putIfAbsent(Livro.chaveNatural(null, idioma, livroDTO.titulo()), chave);
+                }
+            }
+        }
+        List<String> chaves = new ArrayList<>(porChave.keySet());
+        chaves.addAll(chavesPorTitulo.keySet());
+        for (int i = 0; i < chaves.size(); i += TAMANHO_MAXIMO_CONSULTA_IN) {
+            livroRepository.buscarChavesExistentes(
+                    chaves.subList(i, Math.min(i + TAMANHO_MAXIMO_CONSULTA_IN, chaves.size())))
+                    .forEach(existente -> {
+                        porChave.remove(existente);
+                        String chavePorId = chavesPorTitulo.get(existente);
+                        if (chavePorId != null) {
+                            porChave.remove(chavePorId);
+                        }
+                    });
+        }
+
+        Map<String, Autor> autoresDoLote = new HashMap<>();
+        List<Autor> autoresNovos = new ArrayList<>();
+        List<Livro> livros = new ArrayList<>(porChave.size());
+        for (LivroDTO livroDTO : porChave.values()) {
+            List<Autor> autores = resolverAutores(livroDTO.autores(), autoresDoLote, autoresNovos);
+            Livro livro = new Livro(livroDTO.titulo(), livroDTO.idiomas().get(0), livroDTO.numeroDownloads(), autores);
+            livro.setGutendexId(livroDTO.gutendexId());
+            livros.add(livro);
+        }
+
+        // Os autores recebem os ids agora; os inserts de livros só vão ao banco no flush do commit
+        autorRepository.inserirSeAusentes(autoresNovos);
+        List<Livro> salvos = livroRepository.saveAll(livros);
+        contagemIdiomas.registrar(salvos);
+        log.debug("Lote gravado: {} livro(s) novo(s) de {}, {} autor(es) novo(s)",
+                salvos.size(), livrosDTO.size(), autoresNovos.size());
+
+        if (!salvos.isEmpty()) {
+            eventos.publishEvent(new LivrosSalvosEvento(salvos));
+        }
+        amostra.stop(Timer.builder("literalura.persistencia.lote")
+                .description("Tempo de gravação de um lote de livros, sem o commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return salvos;
+    }
+
+    /**
+     * Resolve os autores de um livro pelo nome normalizado, reaproveitando os já
+     * resolvidos na mesma gravação. Os que não estão no {@link ResolvedorAutores}
+     * entram em {@code autoresNovos}, ainda sem id, para serem gravados em um
+     * único {@link AutorRepository#inserirSeAusentes}. Nomes em branco são
+     * descartados: normalizados, juntariam autores sem relação entre si.
+     */
+    private List<Autor> resolverAutores(List<AutorDTO> autoresDTO, Map<String, Autor> resolvidos,
+                                        List<Autor> autoresNovos) {
+        List<Autor> autores = new ArrayList<>();
+        if (autoresDTO == null) {
+            return autores;
+        }
+        for (AutorDTO autorDTO : autoresDTO) {
+            String chave = NormalizadorTexto.normalizarNomeAutor(autorDTO.nome());
+            if (chave.isEmpty()) {
+                log.debug("Autor sem nome descartado: {}", autorDTO);
+                continue;
+            }
+            Autor autor = resolvidos.computeIfAbsent(chave, nome -> resolverAutor(autorDTO, autoresNovos));
+            if (!autores.contains(autor)) {
+                autores.add(autor);
+            }
         }
+        return autores;
+    }
+
+    private Autor resolverAutor(AutorDTO autorDTO, List<Autor> autoresNovos) {
+        Autor autorExistente = resolvedorAutores.buscar(autorDTO.nome());
+        if (autorExistente != null) {
+            meterRegistry.counter("literalura.autores", "resultado", "existente").increment();
+            return autorExistente;
+        }
+        Autor autor = new Autor(autorDTO.nome(), autorDTO.anoNascimento(), autorDTO.anoFalecimento());
+        autoresNovos.add(autor);
+        meterRegistry.counter("literalura.autores", "resultado", "criado").increment();
+        return autor;
+    }
 
-        // Criar novo autor
-        Autor autor = new Autor();
-        autor.setNome(autorDTO.nome());
-        autor.setAnoNascimento(autorDTO.anoNascimento());
-        autor.setAnoFalecimento(autorDTO.anoFalecimento());
+    /**
+     * Busca livros no Gutendex pelo título, convertendo direto do corpo da resposta.
+     */
+    public RespostaDTO buscarNaApi(String titulo) {
+        return buscarPaginaNaApi(URL_GUTENDEX + "?search=" + URLEncoder.encode(titulo.trim(), StandardCharsets.UTF_8));
+    }
 
-        // Salvar e retornar o autor persistido
-        Autor autorSalvo = autorRepository.save(autor);
-        System.out.println("Novo autor salvo: " + autorSalvo.getNome() + " (ID: " + autorSalvo.getId() + ")");
-        return autorSalvo;
+    /**
+     * Busca no Gutendex os livros dos ids informados (filtro {@code ids}). O
+     * Gutendex devolve no máximo 32 livros por página; ids a mais ficam na página
+     * indicada em {@code proxima}.
+     */
+    public RespostaDTO buscarNaApiPorIds(Collection<Long> ids) {
+        String lista = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return buscarPaginaNaApi(URL_GUTENDEX + "?ids=" + lista);
+    }
+
+    /**
+     * Busca uma página de resultados do Gutendex, por exemplo a indicada em
+     * {@code proxima} de uma resposta anterior.
+     */
+    public RespostaDTO buscarPaginaNaApi(String endereco) {
+        String url = ConsumoAPI.normalizarUrl(endereco);
+        // Buscas simultâneas pela mesma URL compartilham a requisição e a conversão
+        return buscasEmAndamento.executar(url,
+                () -> consumoAPI.obterDados(url, corpo -> converteDados.obterDados(corpo, RespostaDTO.class)));
     }
 
     public List<Livro> buscarTodosLivros() {
@@ -89,34 +331,150 @@ public class LivroService {
     }
 
     public List<Livro> buscarTop5Livros() {
-        return livroRepository.findTop5ByOrderByNumeroDownloadsDesc();
+        List<Long> ids = rankingDownloads.top(5, null).stream().map(LivroResumoDTO::id).toList();
+        return carregarComAutores(ids);
+    }
+
+    public List<LivroResumoDTO> buscarMaisBaixados(int n, String idioma) {
+        return rankingDownloads.top(n, Livro.normalizarIdioma(idioma));
     }
 
-    public List<Livro> buscarPorIdioma(String idioma) {
-        return livroRepository.buscarPorIdioma(idioma);
+    public List<LivroResumoDTO> buscarPorIdioma(String idioma) {
+        return livroRepository.buscarPorIdioma(Livro.normalizarIdioma(idioma));
     }
 
     public List<String> buscarIdiomasDisponiveis() {
         return livroRepository.buscarIdiomasDisponiveis();
     }
 
+    public List<ContagemIdiomaDTO> contarPorIdioma() {
+        return contagemIdiomas.contagens();
+    }
+
+    /**
+     * Devolve o livro mais baixado entre os que casam com o título no índice em
+     * memória (só pelo título; autores ficam para {@link #buscarNoIndice}); o banco
+     * só é consultado para carregar o livro escolhido.
+     */
     public Optional<Livro> buscarPorTitulo(String titulo) {
-        return livroRepository.findByTituloContainingIgnoreCase(titulo);
+        return indiceTitulos.buscarPorTitulo(titulo, 1).stream()
+                .findFirst()
+                .flatMap(resumo -> carregarComAutores(List.of(resumo.id())).stream().findFirst());
     }
 
-    public List<Autor> buscarAutoresVivosEmAno(Integer ano) {
-        return autorRepository.buscarAutoresVivosEmAno(ano);
+    public List<LivroResumoDTO> buscarNoIndice(String consulta, int limite) {
+        return indiceTitulos.buscar(consulta, limitarTamanhoPagina(limite));
     }
 
-    public List<Autor> buscarAutoresNascidosEmAno(Integer ano) {
-        return autorRepository.buscarAutoresNascidosEmAno(ano);
+    // Consultas por período de vida, servidas pelo índice em memória
+
+    public List<AutorResumoDTO> buscarAutoresVivosEmAno(Integer ano) {
+        return indiceVidaAutores.vivosEm(ano);
+    }
+
+    public List<AutorResumoDTO> buscarAutoresNascidosEmAno(Integer ano) {
+        return indiceVidaAutores.nascidosEntre(ano, ano);
     }
 
-    public List<Autor> buscarAutoresPorAnoMorte(Integer ano) {
-        return autorRepository.buscarAutoresPorAnoMorte(ano);
+    public List<AutorResumoDTO> buscarAutoresPorAnoMorte(Integer ano) {
+        return indiceVidaAutores.falecidosEntre(ano, ano);
+    }
+
+    public List<AutorResumoDTO> buscarAutoresNascidosEntre(Integer de, Integer ate) {
+        return indiceVidaAutores.nascidosEntre(de, ate);
+    }
+
+    public List<AutorResumoDTO> buscarAutoresFalecidosEntre(Integer de, Integer ate) {
+        return indiceVidaAutores.falecidosEntre(de, ate);
+    }
+
+    public Map<Integer, Long> contarAutoresVivosPorAno(Integer de, Integer ate) {
+        return indiceVidaAutores.contagemVivosPorAno(de, ate);
     }
 
     public List<Autor> buscarTodosAutores() {
         return autorRepository.findAll();
     }
-}
\ No newline at end of file
+
+    // Listagens paginadas por cursor: o custo de cada página não depende do tamanho da tabela
+
+    public PaginaDTO<Livro> listarLivros(String cursor, int limite) {
+        int tamanho = limitarTamanhoPagina(limite);
+        List<Long> ids = livroRepository.buscarIdsApos(cursorId(cursor), Limit.of(tamanho + 1));
+        return paginar(carregarComAutores(ids), tamanho, livro -> String.valueOf(livro.getId()));
+    }
+
+    public PaginaDTO<Livro> listarLivrosPorIdioma(String idioma, String cursor, int limite) {
+        int tamanho = limitarTamanhoPagina(limite);
+        List<Long> ids = livroRepository.buscarIdsPorIdiomaApos(Livro.normalizarIdioma(idioma), cursorId(cursor),
+                Limit.of(tamanho + 1));
+        return paginar(carregarComAutores(ids), tamanho, livro -> String.valueOf(livro.getId()));
+    }
+
+    /**
+     * Ordenação por downloads (decrescente) com desempate por id; o cursor carrega
+     * os dois valores no formato {@code downloads_id}.
+     */
+    public PaginaDTO<Livro> listarMaisBaixados(String cursor, int limite) {
+        int tamanho = limitarTamanhoPagina(limite);
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = livroRepository.buscarIdsMaisBaixados(Limit.of(tamanho + 1));
+        } else {
+            String[] partes = cursor.split("_");
+            if (partes.length != 2) {
+                throw new CursorInvalidoException(cursor);
+            }
+            ids = livroRepository.buscarIdsMaisBaixadosApos(parseCursor(partes[0], cursor).intValue(),
+                    parseCursor(partes[1], cursor), Limit.of(tamanho + 1));
+        }
+        return paginar(carregarComAutores(ids), tamanho, livro -> livro.getNumeroDownloads() + "_" + livro.getId());
+    }
+
+    public PaginaDTO<Autor> listarAutores(String cursor, int limite) {
+        int tamanho = limitarTamanhoPagina(limite);
+        List<Autor> autores = autorRepository.findByIdGreaterThanOrderByIdAsc(cursorId(cursor), Limit.of(tamanho + 1));
+        return paginar(autores, tamanho, autor -> String.valueOf(autor.getId()));
+    }
+
+    /**
+     * Carrega os livros dos ids informados com seus autores em uma única consulta,
+     * preservando a ordem dos ids.
+     */
+    private List<Livro> carregarComAutores(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Livro> porId = livroRepository.buscarComAutores(ids).stream()
+                .collect(Collectors.toMap(Livro::getId, Function.identity()));
+        return ids.stream().map(porId::get).collect(Collectors.toList());
+    }
+
+    private int limitarTamanhoPagina(int limite) {
+        return Math.max(1, Math.min(limite, TAMANHO_MAXIMO_PAGINA));
+    }
+
+    private Long cursorId(String cursor) {
+        return cursor == null || cursor.isBlank() ? 0L : parseCursor(cursor, cursor);
+    }
+
+    private Long parseCursor(String valor, String cursor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+
+    /**
+     * Recebe até {@code tamanho + 1} itens: o item excedente só indica que existe
+     * uma próxima página e é descartado.
+     */
+    private <T> PaginaDTO<T> paginar(List<T> itens, int tamanho, Function<T, String> cursorDe) {
+        if (itens.size() <= tamanho) {
+            return new PaginaDTO<>(itens, null);
+        }
+        List<T> pagina = itens.subList(0, tamanho);
+        return new PaginaDTO<>(pagina, cursorDe.apply(pagina.get(tamanho - 1)));
+    }
+}
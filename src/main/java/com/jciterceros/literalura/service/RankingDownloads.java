@@ -0,0 +1,177 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.evento.LivrosSalvosEvento;
+import com.jciterceros.literalura.exception.TamanhoRankingInvalidoException;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.repository.LivroRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Rankings de downloads mantidos em memória: um global e um por idioma, cada um
+ * limitado aos {@code literalura.ranking.tamanho} livros mais baixados.
+ * <p>
+ * Inserções e aumentos de downloads são aplicados direto no ranking. Quando um
+ * livro do ranking cheio perde downloads, o próximo colocado pode estar fora da
+ * memória; o ranking é então marcado como incompleto e recarregado do banco na
+ * próxima leitura.
+ */
+@Component
+public class RankingDownloads implements IndiceEmMemoria {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingDownloads.class);
+
+    private static final Comparator<LivroResumoDTO> MAIS_BAIXADOS_PRIMEIRO = Comparator
+            .comparing(LivroResumoDTO::numeroDownloads, Comparator.reverseOrder())
+            .thenComparing(LivroResumoDTO::id);
+
+    @Value("${literalura.ranking.tamanho:100}")
+    private int tamanho;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    private volatile Placar global = new Placar();
+    private final Map<String, Placar> porIdioma = new ConcurrentHashMap<>();
+
+    /**
+     * Top-K de um conjunto de livros. Todos os métodos são sincronizados no próprio
+     * placar.
+     */
+    private class Placar {
+
+        private final TreeSet<LivroResumoDTO> ordenados = new TreeSet<>(MAIS_BAIXADOS_PRIMEIRO);
+        private final Map<Long, LivroResumoDTO> membros = new HashMap<>();
+        private boolean incompleto;
+
+        synchronized void oferecer(LivroResumoDTO livro) {
+            LivroResumoDTO anterior = membros.remove(livro.id());
+            if (anterior != null) {
+                ordenados.remove(anterior);
+                if (livro.numeroDownloads() < anterior.numeroDownloads() && ordenados.size() + 1 >= tamanho) {
+                    incompleto = true;
+                }
+            }
+            ordenados.add(livro);
+            membros.put(livro.id(), livro);
+            if (ordenados.size() > tamanho) {
+                membros.remove(ordenados.pollLast().id());
+            }
+        }
+
+        synchronized List<LivroResumoDTO> primeiros(int n, Supplier<List<LivroResumoDTO>> banco) {
+            if (incompleto) {
+                substituirPor(banco.get());
+            }
+            return ordenados.stream().limit(n).toList();
+        }
+
+        synchronized List<Long> ids() {
+            return ordenados.stream().map(LivroResumoDTO::id).toList();
+        }
+
+        synchronized void substituirPor(List<LivroResumoDTO> livros) {
+            ordenados.clear();
+            membros.clear();
+            incompleto = false;
+            livros.forEach(this::oferecer);
+        }
+    }
+
+    /**
+     * Reconstrói todos os rankings em uma única passada pelo banco e confere o
+     * ranking global com a ordenação feita pelo próprio banco.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void recarregar() {
+        Placar novoGlobal = new Placar();
+        Map<String, Placar> novosPorIdioma = new HashMap<>();
+        try (Stream<LivroResumoDTO> livros = livroRepository.percorrerResumos()) {
+            livros.forEach(livro -> {
+                novoGlobal.oferecer(livro);
+                if (livro.idioma() != null) {
+                    novosPorIdioma.computeIfAbsent(livro.idioma(), idioma -> new Placar()).oferecer(livro);
+                }
+            });
+        }
+        global = novoGlobal;
+        porIdioma.clear();
+        porIdioma.putAll(novosPorIdioma);
+        verificarConsistencia();
+    }
+
+    /**
+     * Compara o ranking global em memória com o top-K calculado pelo banco e, se
+     * divergirem, adota o resultado do banco.
+     */
+    public boolean verificarConsistencia() {
+        List<LivroResumoDTO> doBanco = livroRepository.buscarResumosMaisBaixados(Limit.of(tamanho));
+        List<Long> idsDoBanco = doBanco.stream().map(LivroResumoDTO::id).toList();
+        if (idsDoBanco.equals(global.ids())) {
+            return true;
+        }
+        log.warn("Ranking de downloads divergente do banco; recarregando a partir do banco");
+        global.substituirPor(doBanco);
+        return false;
+    }
+
+    /**
+     * Os {@code n} livros mais baixados, global ou de um idioma. O ranking só
+     * guarda {@code tamanho} livros: um {@code n} fora de 1..tamanho é recusado em
+     * vez de truncado sem aviso.
+     */
+    public List<LivroResumoDTO> top(int n, String idioma) {
+        if (n < 1 || n > tamanho) {
+            throw new TamanhoRankingInvalidoException(n, tamanho);
+        }
+        if (idioma == null || idioma.isBlank()) {
+            return global.primeiros(n,
+                    () -> livroRepository.buscarResumosMaisBaixados(Limit.of(tamanho)));
+        }
+        Placar placar = porIdioma.get(idioma);
+        if (placar == null) {
+            return List.of();
+        }
+        return placar.primeiros(n,
+                () -> livroRepository.buscarResumosMaisBaixadosPorIdioma(idioma, Limit.of(tamanho)));
+    }
+
+    /**
+     * Registra um novo número de downloads de um livro já existente.
+     */
+    public void atualizarDownloads(LivroResumoDTO livro) {
+        if (livro.numeroDownloads() == null) {
+            return;
+        }
+        global.oferecer(livro);
+        if (livro.idioma() != null) {
+            porIdioma.computeIfAbsent(livro.idioma(), idioma -> new Placar()).oferecer(livro);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarLivros(LivrosSalvosEvento evento) {
+        for (Livro livro : evento.livros()) {
+            atualizarDownloads(new LivroResumoDTO(livro.getId(), livro.getTitulo(), livro.getIdioma(),
+                    livro.getNumeroDownloads()));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.evento.LivrosSalvosEvento;
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.repository.AutorRepository;
+import com.jciterceros.literalura.util.NormalizadorTexto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Identidade dos autores em memória, indexada pelo nome normalizado (sem
+ * acentos, sem caixa e com "Sobrenome, Nome" reordenado). Substitui a busca por
+ * {@code LIKE '%nome%'} a cada autor de cada livro salvo por um acesso O(1) com
+ * correspondência exata.
+ * <p>
+ * O mapa só conhece autores já confirmados e serve de atalho: a identidade é
+ * garantida no banco pelo índice único de {@code nome_normalizado}, e os autores
+ * ausentes daqui são gravados com {@link AutorRepository#inserirSeAusentes}, que
+ * não duplica um autor gravado em paralelo por outra transação.
+ */
+@Component
+public class ResolvedorAutores implements IndiceEmMemoria {
+
+    private record AutorIndexado(Long id, String nome, Integer anoNascimento, Integer anoFalecimento) {
+    }
+
+    private final Map<String, AutorIndexado> porNome = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AutorRepository autorRepository;
+
+    @Override
+    public void recarregar() {
+        porNome.clear();
+        autorRepository.findAll().forEach(this::registrar);
+    }
+
+    /**
+     * Devolve uma instância desanexada do autor já cadastrado com o mesmo nome
+     * normalizado, ou {@code null} se não houver. A instância carrega apenas o id e
+     * os dados básicos, o suficiente para ser associada a um livro sem consultar o
+     * banco.
+     */
+    public Autor buscar(String nome) {
+        String chave = NormalizadorTexto.normalizarNomeAutor(nome);
+        if (chave.isEmpty()) {
+            return null;
+        }
+        AutorIndexado indexado = porNome.get(chave);
+        if (indexado == null) {
+            return null;
+        }
+        Autor autor = new Autor(indexado.nome(), indexado.anoNascimento(), indexado.anoFalecimento());
+        autor.setId(indexado.id());
+        return autor;
+    }
+
+    public void registrar(Autor autor) {
+        String chave = NormalizadorTexto.normalizarNomeAutor(autor.getNome());
+        if (autor.getId() == null || chave.isEmpty()) {
+            return;
+        }
+        porNome.putIfAbsent(chave,
+                new AutorIndexado(autor.getId(), autor.getNome(), autor.getAnoNascimento(),
+                        autor.getAnoFalecimento()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarLivros(LivrosSalvosEvento evento) {
+        for (Livro livro : evento.livros()) {
+            livro.getAutores().forEach(this::registrar);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.jciterceros.literalura.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Com {@code literalura.snapshot.automatico=true}, restaura o snapshot do
+ * catálogo na inicialização e grava um novo no encerramento.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "literalura.snapshot.automatico", havingValue = "true")
+public class SnapshotAutomatico implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotAutomatico.class);
+
+    @Autowired
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @Override
+    public void run(String... args) throws Exception {
+        // Antes do DataLoader: com o catálogo restaurado, os seeds não são aplicados
+        try {
+            snapshotCatalogo.restaurar();
+        } catch (RuntimeException e) {
+            log.warn("Snapshot {} não restaurado: {}", snapshotCatalogo.getArquivo(), e.getMessage());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void aoEncerrar() {
+        try {
+            snapshotCatalogo.salvar();
+        } catch (RuntimeException e) {
+            log.warn("Snapshot {} não gravado: {}", snapshotCatalogo.getArquivo(), e.getMessage());
+        }
+    }
+}
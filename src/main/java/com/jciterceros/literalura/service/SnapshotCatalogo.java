@@ -0,0 +1,407 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.RelatorioSnapshotDTO;
+import com.jciterceros.literalura.model.Livro;
+import com.jciterceros.literalura.util.NormalizadorTexto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grava e restaura o catálogo (autores, livros e vínculos livro × autor) em um
+ * arquivo binário colunar. O banco é em memória, então sem o snapshot cada
+ * reinício volta só com os seeds.
+ * <p>
+ * Layout, em big-endian: número mágico, versão e, para cada tabela, a quantidade
+ * de linhas seguida de uma coluna após a outra. Colunas numéricas são vetores de
+ * {@code long}/{@code int} ({@link #NULO_LONG}/{@link #NULO} para nulos); colunas de texto são o
+ * vetor de tamanhos em bytes ({@code -1} para nulos) seguido dos bytes UTF-8
+ * concatenados. A leitura mapeia o arquivo em memória e percorre cada coluna
+ * sequencialmente.
+ */
+@Service
+public class SnapshotCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotCatalogo.class);
+
+    static final int NUMERO_MAGICO = 0x4C545253; // "LTRS"
+    static final int VERSAO = 2;
+    static final int NULO = Integer.MIN_VALUE;
+    static final long NULO_LONG = Long.MIN_VALUE;
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheSegundoNivel cacheSegundoNivel;
+
+    @Value("${literalura.snapshot.arquivo:literalura-catalogo.snapshot}")
+    private String arquivo;
+
+    // Colunas de uma tabela, na ordem em que vão para o arquivo
+
+    private static final class Autores {
+        final ColunaLong id = new ColunaLong();
+        final List<String> nome = new ArrayList<>();
+        final ColunaInt anoNascimento = new ColunaInt();
+        final ColunaInt anoFalecimento = new ColunaInt();
+    }
+
+    private static final class Livros {
+        final ColunaLong id = new ColunaLong();
+        final ColunaLong gutendexId = new ColunaLong();
+        final List<String> titulo = new ArrayList<>();
+        final List<String> idioma = new ArrayList<>();
+        final ColunaInt numeroDownloads = new ColunaInt();
+    }
+
+    private static final class Vinculos {
+        final ColunaLong livroId = new ColunaLong();
+        final ColunaLong autorId = new ColunaLong();
+    }
+
+    public Path getArquivo() {
+        return Path.of(arquivo);
+    }
+
+    /**
+     * Grava o catálogo atual no arquivo configurado. O arquivo é escrito ao lado
+     * e movido no final, então um snapshot anterior só é substituído por um
+     * completo.
+     * <p>
+     * As três tabelas são lidas em {@code REPEATABLE READ}, que no H2 é uma visão
+     * única do banco: um livro gravado entre as leituras não aparece sem os seus
+     * autores nem com vínculos para autores ausentes do arquivo.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public RelatorioSnapshotDTO salvar() {
+        long inicio = System.nanoTime();
+        Autores autores = new Autores();
+        jdbcTemplate.query("SELECT id, nome, ano_nascimento, ano_falecimento FROM autores ORDER BY id",
+                (RowCallbackHandler) linha -> {
+                    autores.id.adicionar(linha.getLong(1));
+                    autores.nome.add(linha.getString(2));
+                    autores.anoNascimento.adicionar(inteiro(linha, 3));
+                    autores.anoFalecimento.adicionar(inteiro(linha, 4));
+                });
+        Livros livros = new Livros();
+        jdbcTemplate.query("SELECT id, gutendex_id, titulo, idioma, numero_downloads FROM livros ORDER BY id",
+                (RowCallbackHandler) linha -> {
+                    livros.id.adicionar(linha.getLong(1));
+                    long gutendexId = linha.getLong(2);
+                    livros.gutendexId.adicionar(linha.wasNull() ? NULO_LONG : gutendexId);
+                    livros.titulo.add(linha.getString(3));
+                    livros.idioma.add(linha.getString(4));
+                    livros.numeroDownloads.adicionar(inteiro(linha, 5));
+                });
+        Vinculos vinculos = new Vinculos();
+        jdbcTemplate.query("SELECT livro_id, autor_id FROM livro_autor ORDER BY livro_id, autor_id",
+                (RowCallbackHandler) linha -> {
+                    vinculos.livroId.adicionar(linha.getLong(1));
+                    vinculos.autorId.adicionar(linha.getLong(2));
+                });
+
+        Path destino = getArquivo().toAbsolutePath();
+        try {
+            Files.createDirectories(destino.getParent());
+            Path temporario = Files.createTempFile(destino.getParent(), "snapshot", ".tmp");
+            try (DataOutputStream saida = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporario), 1 << 20))) {
+                saida.writeInt(NUMERO_MAGICO);
+                saida.writeInt(VERSAO);
+
+                saida.writeInt(autores.id.tamanho);
+                escrever(saida, autores.id);
+                escrever(saida, autores.nome);
+                escrever(saida, autores.anoNascimento);
+                escrever(saida, autores.anoFalecimento);
+
+                saida.writeInt(livros.id.tamanho);
+                escrever(saida, livros.id);
+                escrever(saida, livros.gutendexId);
+                escrever(saida, livros.titulo);
+                escrever(saida, livros.idioma);
+                escrever(saida, livros.numeroDownloads);
+
+                saida.writeInt(vinculos.livroId.tamanho);
+                escrever(saida, vinculos.livroId);
+                escrever(saida, vinculos.autorId);
+            }
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            RelatorioSnapshotDTO relatorio = new RelatorioSnapshotDTO(destino.toString(), livros.id.tamanho,
+                    autores.id.tamanho, vinculos.livroId.tamanho, Files.size(destino),
+                    (System.nanoTime() - inicio) / 1_000_000);
+            log.info("Snapshot gravado: {}", relatorio);
+            return relatorio;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar snapshot do catálogo", e);
+        }
+    }
+
+    /**
+     * Restaura o snapshot em um banco vazio, com inserts em lote, e reposiciona as
+     * sequências depois dos maiores ids restaurados. Não faz nada se o arquivo não
+     * existir ou se o banco já tiver dados; um arquivo de outra versão é rejeitado.
+     */
+    @Transactional
+    public RelatorioSnapshotDTO restaurar() {
+        Path origem = getArquivo().toAbsolutePath();
+        if (!Files.exists(origem)) {
+            return null;
+        }
+        Boolean possuiDados = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM livros) OR EXISTS (SELECT 1 FROM autores)", Boolean.class);
+        if (Boolean.TRUE.equals(possuiDados)) {
+            log.info("Banco já possui dados. Snapshot {} não restaurado.", origem);
+            return null;
+        }
+
+        long inicio = System.nanoTime();
+        Autores autores = new Autores();
+        Livros livros = new Livros();
+        Vinculos vinculos = new Vinculos();
+        long bytes;
+        try (FileChannel canal = FileChannel.open(origem, StandardOpenOption.READ)) {
+            bytes = canal.size();
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Snapshot maior que 2 GB: " + origem);
+            }
+            MappedByteBuffer entrada = canal.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            if (entrada.getInt() != NUMERO_MAGICO) {
+                throw new IllegalStateException("Arquivo não é um snapshot do catálogo: " + origem);
+            }
+            int versao = entrada.getInt();
+            if (versao != VERSAO) {
+                throw new IllegalStateException("Versão de snapshot não suportada: " + versao);
+            }
+
+            int quantidadeAutores = entrada.getInt();
+            ler(entrada, autores.id, quantidadeAutores);
+            ler(entrada, autores.nome, quantidadeAutores);
+            ler(entrada, autores.anoNascimento, quantidadeAutores);
+            ler(entrada, autores.anoFalecimento, quantidadeAutores);
+
+            int quantidadeLivros = entrada.getInt();
+            ler(entrada, livros.id, quantidadeLivros);
+            ler(entrada, livros.gutendexId, quantidadeLivros);
+            ler(entrada, livros.titulo, quantidadeLivros);
+            ler(entrada, livros.idioma, quantidadeLivros);
+            ler(entrada, livros.numeroDownloads, quantidadeLivros);
+
+            int quantidadeVinculos = entrada.getInt();
+            ler(entrada, vinculos.livroId, quantidadeVinculos);
+            ler(entrada, vinculos.autorId, quantidadeVinculos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler snapshot do catálogo", e);
+        }
+
+        inserirEmLotes("INSERT INTO autores (id, nome, ano_nascimento, ano_falecimento, nome_normalizado) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                autores.id.tamanho, (comando, i) -> {
+                    comando.setLong(1, autores.id.valores[i]);
+                    comando.setString(2, autores.nome.get(i));
+                    inteiro(comando, 3, autores.anoNascimento.valores[i]);
+                    inteiro(comando, 4, autores.anoFalecimento.valores[i]);
+                    comando.setString(5, NormalizadorTexto.normalizarNomeAutor(autores.nome.get(i)));
+                });
+        // A chave natural não é gravada no snapshot: é derivada das demais colunas
+        inserirEmLotes("INSERT INTO livros (id, gutendex_id, titulo, idioma, numero_downloads, chave_natural) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                livros.id.tamanho, (comando, i) -> {
+                    comando.setLong(1, livros.id.valores[i]);
+                    long gutendexId = livros.gutendexId.valores[i];
+                    if (gutendexId == NULO_LONG) {
+                        comando.setNull(2, Types.BIGINT);
+                    } else {
+                        comando.setLong(2, gutendexId);
+                    }
+                    comando.setString(3, livros.titulo.get(i));
+                    comando.setString(4, livros.idioma.get(i));
+                    inteiro(comando, 5, livros.numeroDownloads.valores[i]);
+                    comando.setString(6, Livro.chaveNatural(gutendexId == NULO_LONG ? null : gutendexId,
+                            livros.idioma.get(i), livros.titulo.get(i)));
+                });
+        inserirEmLotes("INSERT INTO livro_autor (livro_id, autor_id) VALUES (?, ?)",
+                vinculos.livroId.tamanho, (comando, i) -> {
+                    comando.setLong(1, vinculos.livroId.valores[i]);
+                    comando.setLong(2, vinculos.autorId.valores[i]);
+                });
+
+        reposicionarSequencia("autores_seq", autores.id.maximo());
+        reposicionarSequencia("livros_seq", livros.id.maximo());
+
+        // As linhas foram gravadas fora do Hibernate
+        cacheSegundoNivel.limpar();
+
+        RelatorioSnapshotDTO relatorio = new RelatorioSnapshotDTO(origem.toString(), livros.id.tamanho,
+                autores.id.tamanho, vinculos.livroId.tamanho, bytes, (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Snapshot restaurado: {}", relatorio);
+        return relatorio;
+    }
+
+    /**
+     * O Hibernate reserva blocos de 50 ids e trata o valor lido da sequência como
+     * o fim do bloco; reiniciar em {@code maximo + 50} faz o próximo bloco começar
+     * logo depois do maior id restaurado.
+     */
+    private void reposicionarSequencia(String sequencia, long maximo) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequencia + " RESTART WITH " + (maximo + 50));
+    }
+
+    @FunctionalInterface
+    private interface PreencherLinha {
+        void preencher(PreparedStatement comando, int indice) throws SQLException;
+    }
+
+    private void inserirEmLotes(String sql, int total, PreencherLinha preencher) {
+        for (int inicio = 0; inicio < total; inicio += TAMANHO_LOTE) {
+            int deslocamento = inicio;
+            int tamanho = Math.min(TAMANHO_LOTE, total - inicio);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement comando, int i) throws SQLException {
+                    preencher.preencher(comando, deslocamento + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return tamanho;
+                }
+            });
+        }
+    }
+
+    private static int inteiro(ResultSet linha, int coluna) throws SQLException {
+        int valor = linha.getInt(coluna);
+        return linha.wasNull() ? NULO : valor;
+    }
+
+    private static void inteiro(PreparedStatement comando, int parametro, int valor) throws SQLException {
+        if (valor == NULO) {
+            comando.setNull(parametro, Types.INTEGER);
+        } else {
+            comando.setInt(parametro, valor);
+        }
+    }
+
+    // Formato das colunas
+
+    private static void escrever(DataOutputStream saida, ColunaLong coluna) throws IOException {
+        for (int i = 0; i < coluna.tamanho; i++) {
+            saida.writeLong(coluna.valores[i]);
+        }
+    }
+
+    private static void escrever(DataOutputStream saida, ColunaInt coluna) throws IOException {
+        for (int i = 0; i < coluna.tamanho; i++) {
+            saida.writeInt(coluna.valores[i]);
+        }
+    }
+
+    private static void escrever(DataOutputStream saida, List<String> coluna) throws IOException {
+        byte[][] codificados = new byte[coluna.size()][];
+        for (int i = 0; i < codificados.length; i++) {
+            String valor = coluna.get(i);
+            codificados[i] = valor == null ? null : valor.getBytes(StandardCharsets.UTF_8);
+            saida.writeInt(valor == null ? -1 : codificados[i].length);
+        }
+        for (byte[] valor : codificados) {
+            if (valor != null) {
+                saida.write(valor);
+            }
+        }
+    }
+
+    private static void ler(ByteBuffer entrada, ColunaLong coluna, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            coluna.adicionar(entrada.getLong());
+        }
+    }
+
+    private static void ler(ByteBuffer entrada, ColunaInt coluna, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            coluna.adicionar(entrada.getInt());
+        }
+    }
+
+    private static void ler(ByteBuffer entrada, List<String> coluna, int quantidade) {
+        int[] tamanhos = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            tamanhos[i] = entrada.getInt();
+        }
+        byte[] bytes = new byte[256];
+        for (int tamanho : tamanhos) {
+            if (tamanho < 0) {
+                coluna.add(null);
+                continue;
+            }
+            if (tamanho > bytes.length) {
+                bytes = new byte[Math.max(tamanho, bytes.length * 2)];
+            }
+            entrada.get(bytes, 0, tamanho);
+            coluna.add(new String(bytes, 0, tamanho, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class ColunaLong {
+        long[] valores = new long[1024];
+        int tamanho;
+
+        void adicionar(long valor) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = valor;
+        }
+
+        long maximo() {
+            long maximo = 0;
+            for (int i = 0; i < tamanho; i++) {
+                maximo = Math.max(maximo, valores[i]);
+            }
+            return maximo;
+        }
+    }
+
+    private static final class ColunaInt {
+        int[] valores = new int[1024];
+        int tamanho;
+
+        void adicionar(int valor) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = valor;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.jciterceros.literalura.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes com a mesma chave ("single flight"): enquanto uma
+ * chamada está em andamento, quem pedir a mesma chave espera e recebe o mesmo
+ * resultado (ou a mesma exceção) em vez de repetir o trabalho. Nada é guardado
+ * depois que a chamada termina; isso fica a cargo dos caches.
+ */
+public final class ChamadaUnica<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final LongAdder coalescidas = new LongAdder();
+
+    public V executar(K chave, Supplier<V> chamada) {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            coalescidas.increment();
+            return aguardar(existente);
+        }
+        try {
+            V valor = chamada.get();
+            nova.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private V aguardar(CompletableFuture<V> chamada) {
+        try {
+            return chamada.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Quantas chamadas foram atendidas pelo resultado de outra já em andamento.
+     */
+    public long getCoalescidas() {
+        return coalescidas.sum();
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.size();
+    }
+}
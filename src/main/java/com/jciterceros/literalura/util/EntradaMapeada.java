@@ -0,0 +1,87 @@
+package com.jciterceros.literalura.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lê um arquivo sequencialmente através de janelas mapeadas em memória
+ * ({@link MappedByteBuffer}). As páginas vêm direto do cache do sistema
+ * operacional, sem cópia para um buffer intermediário da JVM, e o heap ocupado
+ * não depende do tamanho do arquivo.
+ */
+public final class EntradaMapeada extends InputStream {
+
+    private static final long TAMANHO_JANELA = 64L * 1024 * 1024;
+
+    private final FileChannel canal;
+    private final long tamanho;
+    private long inicioJanela;
+    private MappedByteBuffer janela;
+
+    public EntradaMapeada(Path arquivo) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.tamanho = canal.size();
+        mapearJanela(0);
+    }
+
+    private void mapearJanela(long inicio) throws IOException {
+        inicioJanela = inicio;
+        long restante = tamanho - inicio;
+        janela = restante > 0 ? canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(TAMANHO_JANELA, restante))
+                : null;
+    }
+
+    private boolean disponivel() throws IOException {
+        if (janela == null) {
+            return false;
+        }
+        if (!janela.hasRemaining()) {
+            mapearJanela(inicioJanela + janela.capacity());
+        }
+        return janela != null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return disponivel() ? janela.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] destino, int deslocamento, int quantidade) throws IOException {
+        if (quantidade == 0) {
+            return 0;
+        }
+        if (!disponivel()) {
+            return -1;
+        }
+        int lidos = Math.min(quantidade, janela.remaining());
+        janela.get(destino, deslocamento, lidos);
+        return lidos;
+    }
+
+    @Override
+    public int available() {
+        return janela == null ? 0 : (int) Math.min(Integer.MAX_VALUE, tamanho - inicioJanela - janela.position());
+    }
+
+    /**
+     * Bytes já consumidos, para acompanhar o progresso da leitura.
+     */
+    public long getPosicao() {
+        return janela == null ? tamanho : inicioJanela + janela.position();
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    @Override
+    public void close() throws IOException {
+        janela = null;
+        canal.close();
+    }
+}
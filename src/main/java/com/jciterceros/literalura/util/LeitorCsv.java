@@ -0,0 +1,83 @@
+package com.jciterceros.literalura.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro: campos entre aspas podem conter
+ * vírgulas, aspas duplicadas e quebras de linha. Só o registro corrente fica em
+ * memória.
+ */
+public final class LeitorCsv {
+
+    private final Reader entrada;
+    private final StringBuilder campo = new StringBuilder();
+    private boolean fim;
+
+    public LeitorCsv(Reader entrada) {
+        // mark/reset é usado para distinguir aspas duplicadas do fim de um campo
+        this.entrada = entrada.markSupported() ? entrada : new BufferedReader(entrada, 64 * 1024);
+    }
+
+    /**
+     * Próximo registro, ou {@code null} no fim do arquivo. Linhas em branco são
+     * ignoradas.
+     */
+    public List<String> proximoRegistro() throws IOException {
+        while (!fim) {
+            List<String> registro = lerRegistro();
+            if (registro != null && !(registro.size() == 1 && registro.get(0).isEmpty())) {
+                return registro;
+            }
+        }
+        return null;
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreAspas = false;
+        boolean leuAlgo = false;
+
+        int c;
+        while ((c = entrada.read()) != -1) {
+            leuAlgo = true;
+            if (entreAspas) {
+                if (c == '"') {
+                    entrada.mark(1);
+                    int seguinte = entrada.read();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (seguinte != -1) {
+                            entrada.reset();
+                        }
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n') {
+                campos.add(campo.toString());
+                return campos;
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+        }
+
+        fim = true;
+        if (!leuAlgo) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,46 @@
+package com.jciterceros.literalura.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de textos usada como chave pelos índices em memória: remove
+ * acentos, ignora caixa e pontuação e colapsa espaços.
+ */
+public final class NormalizadorTexto {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_ALFANUMERICO = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private NormalizadorTexto() {
+    }
+
+    /**
+     * "Guimarães  Rosa!" → "guimaraes rosa".
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("");
+        return NAO_ALFANUMERICO.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Normaliza um nome de autor, convertendo a ordem "Sobrenome, Nome" usada pelo
+     * Gutendex para "Nome Sobrenome": "Assis, Machado de" e "Machado de Assis"
+     * geram a mesma chave.
+     */
+    public static String normalizarNomeAutor(String nome) {
+        if (nome == null) {
+            return "";
+        }
+        int virgula = nome.indexOf(',');
+        if (virgula > 0) {
+            nome = nome.substring(virgula + 1) + " " + nome.substring(0, virgula);
+        }
+        return normalizar(nome);
+    }
+}
@@ -0,0 +1,33 @@
+-- Dados iniciais, aplicados pelo DataLoader em um único lote JDBC quando o banco está vazio.
+-- Os ids vêm das mesmas sequências usadas pelo Hibernate; a tabela livro_autor é
+-- preenchida por nome e título, sem depender dos ids gerados. A chave_natural segue
+-- Livro.chaveNatural: 't:' + idioma + ':' + título normalizado (sem acentos e pontuação);
+-- nome_normalizado é o nome do autor normalizado da mesma forma.
+
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'jorge amado', 'Jorge Amado', 1912, 2001);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'clarice lispector', 'Clarice Lispector', 1920, 1977);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'guimaraes rosa', 'Guimarães Rosa', 1908, 1967);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'carlos drummond de andrade', 'Carlos Drummond de Andrade', 1902, 1987);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'erico verissimo', 'Érico Veríssimo', 1905, 1975);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'monteiro lobato', 'Monteiro Lobato', 1882, 1948);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'jose de alencar', 'José de Alencar', 1829, 1877);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'euclides da cunha', 'Euclides da Cunha', 1866, 1909);
+INSERT INTO autores (id, nome_normalizado, nome, ano_nascimento, ano_falecimento) VALUES (NEXT VALUE FOR autores_seq, 'lima barreto', 'Lima Barreto', 1881, 1922);
+
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:gabriela cravo e canela', 'Gabriela, Cravo e Canela', 'pt', 987);
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:dona flor e seus dois maridos', 'Dona Flor e Seus Dois Maridos', 'pt', 876);
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:a hora da estrela', 'A Hora da Estrela', 'pt', 765);
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:grande sertao veredas', 'Grande Sertão: Veredas', 'pt', 654);
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:sagarana', 'Sagarana', 'pt', 543);
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:sentimento do mundo', 'Sentimento do Mundo', 'pt', 432);
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:olhai os lirios do campo', 'Olhai os Lírios do Campo', 'pt', 321);
+INSERT INTO livros (id, chave_natural, titulo, idioma, numero_downloads) VALUES (NEXT VALUE FOR livros_seq, 't:pt:o sitio do pica pau amarelo', 'O Sítio do Pica-Pau Amarelo', 'pt', 210);
+
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'Gabriela, Cravo e Canela' AND a.nome = 'Jorge Amado';
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'Dona Flor e Seus Dois Maridos' AND a.nome = 'Jorge Amado';
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'A Hora da Estrela' AND a.nome = 'Clarice Lispector';
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'Grande Sertão: Veredas' AND a.nome = 'Guimarães Rosa';
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'Sagarana' AND a.nome = 'Guimarães Rosa';
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'Sentimento do Mundo' AND a.nome = 'Carlos Drummond de Andrade';
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'Olhai os Lírios do Campo' AND a.nome = 'Érico Veríssimo';
+INSERT INTO livro_autor (livro_id, autor_id) SELECT l.id, a.id FROM livros l, autores a WHERE l.titulo = 'O Sítio do Pica-Pau Amarelo' AND a.nome = 'Monteiro Lobato';
@@ -1,13 +1,31 @@
 package com.jciterceros.literalura;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class LiteraluraApplicationTests {
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	@Test
 	void contextLoads() {
 	}
 
+	// Com o cache de segundo nível ligado, cada região configurada em application.conf sobe
+	@Test
+	void regioesDoCacheDeSegundoNivelSaoCriadas() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+		assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isTrue();
+		assertThat(sessionFactory.getStatistics().getSecondLevelCacheRegionNames())
+				.contains("livros", "autores", "livros_autores");
+	}
+
 }
@@ -0,0 +1,120 @@
+package com.jciterceros.literalura.repository;
+
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que as consultas de leitura carregam o que exibem em um número fixo de
+ * comandos SQL, independentemente da quantidade de livros (sem N+1), e que a
+ * identidade dos livros é a chave natural exata.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LivroRepositoryTests {
+
+    private static final int TOTAL_LIVROS = 20;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void popularBanco() {
+        for (int i = 0; i < TOTAL_LIVROS; i++) {
+            Autor autor = entityManager.persist(new Autor("Autor " + i, 1800 + i, 1870 + i));
+            Autor coautor = entityManager.persist(new Autor("Coautor " + i, 1810 + i, null));
+            entityManager.persist(new Livro("Livro " + i, i % 2 == 0 ? "pt" : "en", 100 * i,
+                    new ArrayList<>(List.of(autor, coautor))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void findAllCarregaLivrosEAutoresEmUmaConsulta() {
+        List<Livro> livros = livroRepository.findAll();
+        livros.forEach(livro -> livro.getAutores().forEach(Autor::getNome));
+
+        assertThat(livros).hasSize(TOTAL_LIVROS);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paginaPorCursorUsaDuasConsultas() {
+        List<Long> ids = livroRepository.buscarIdsApos(0L, Limit.of(5));
+        List<Livro> livros = livroRepository.buscarComAutores(ids);
+        livros.forEach(livro -> livro.getAutores().forEach(Autor::getNome));
+
+        assertThat(livros).hasSize(5);
+        assertThat(livros).allSatisfy(livro -> assertThat(livro.getAutores()).hasSize(2));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rankingDeDownloadsUsaDuasConsultas() {
+        List<Long> ids = livroRepository.buscarIdsMaisBaixados(Limit.of(5));
+        List<Livro> livros = livroRepository.buscarComAutores(ids);
+        livros.forEach(livro -> livro.getAutores().forEach(Autor::getNome));
+
+        assertThat(livros).hasSize(5);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void listagemPorIdiomaUsaProjecaoEmUmaConsulta() {
+        List<LivroResumoDTO> livros = livroRepository.buscarPorIdioma("pt");
+
+        assertThat(livros).hasSize(TOTAL_LIVROS / 2);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void chaveNaturalNaoCasaTitulosQueContemOutro() {
+        // "Livro 1" é trecho de "Livro 10" a "Livro 19"
+        Optional<Livro> livro = livroRepository.findByChaveNatural(Livro.chaveNatural(null, "en", "LIVRO 1!"));
+
+        assertThat(livro).get().extracting(Livro::getTitulo).isEqualTo("Livro 1");
+    }
+
+    @Test
+    void inserirSeAusenteNaoDuplicaChaveExistente() {
+        Autor autor = entityManager.persist(new Autor("Autor novo", 1900, null));
+        Livro novo = new Livro("Livro novo", "pt", 1, new ArrayList<>());
+        novo.setGutendexId(123L);
+        Livro mesmoId = new Livro("Outro título", "en", 2, new ArrayList<>());
+        mesmoId.setGutendexId(123L);
+
+        Optional<Long> inserido = livroRepository.inserirSeAusente(novo);
+        inserido.ifPresent(id -> livroRepository.vincularAutores(id, List.of(autor)));
+
+        assertThat(inserido).isPresent();
+        assertThat(livroRepository.inserirSeAusente(mesmoId)).isEmpty();
+        assertThat(livroRepository.findByChaveNatural("g:123")).get().satisfies(livro -> {
+            assertThat(livro.getId()).isEqualTo(inserido.get());
+            assertThat(livro.getAutores()).extracting(Autor::getNome).containsExactly("Autor novo");
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.exception.ApiIndisponivelException;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exercita retentativas, disjuntor e hedge contra um servidor HTTP local que
+ * injeta latência e falhas.
+ */
+class ChamadorResilienteTests {
+
+    private MockWebServer servidor;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void iniciarServidor() throws IOException {
+        servidor = new MockWebServer();
+        servidor.start();
+        client = new OkHttpClient.Builder()
+                .readTimeout(Duration.ofMillis(500))
+                .build();
+    }
+
+    @AfterEach
+    void encerrarServidor() throws IOException {
+        servidor.shutdown();
+    }
+
+    private ChamadorResiliente chamador(int retentativas, int falhasParaAbrir, Duration tempoAberto, boolean hedge) {
+        return new ChamadorResiliente(client, new ChamadorResiliente.Configuracao(retentativas,
+                Duration.ofMillis(10), Duration.ofMillis(50), falhasParaAbrir, tempoAberto, hedge,
+                Duration.ofMillis(100)));
+    }
+
+    private Request requisicao() {
+        return new Request.Builder().url(servidor.url("/books/?search=dom")).build();
+    }
+
+    @Test
+    void repeteRespostas5xxAteObterSucesso() throws IOException {
+        servidor.enqueue(new MockResponse().setResponseCode(503));
+        servidor.enqueue(new MockResponse().setResponseCode(502));
+        servidor.enqueue(new MockResponse().setBody("{\"count\":1}"));
+        ChamadorResiliente chamador = chamador(2, 10, Duration.ofSeconds(30), false);
+
+        try (Response resposta = chamador.executar(requisicao())) {
+            assertThat(resposta.code()).isEqualTo(200);
+            assertThat(resposta.body().string()).isEqualTo("{\"count\":1}");
+        }
+        assertThat(servidor.getRequestCount()).isEqualTo(3);
+        assertThat(chamador.getRetentativas()).isEqualTo(2);
+        assertThat(chamador.getEstado()).isEqualTo(ChamadorResiliente.EstadoCircuito.FECHADO);
+    }
+
+    @Test
+    void naoRepeteErrosDoCliente() throws IOException {
+        servidor.enqueue(new MockResponse().setResponseCode(404));
+        ChamadorResiliente chamador = chamador(2, 10, Duration.ofSeconds(30), false);
+
+        try (Response resposta = chamador.executar(requisicao())) {
+            assertThat(resposta.code()).isEqualTo(404);
+        }
+        assertThat(servidor.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void propagaFalhaDeConexaoQuandoAsTentativasAcabam() {
+        for (int i = 0; i < 3; i++) {
+            servidor.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        }
+        ChamadorResiliente chamador = chamador(2, 10, Duration.ofSeconds(30), false);
+
+        assertThatThrownBy(() -> chamador.executar(requisicao())).isInstanceOf(IOException.class);
+        assertThat(servidor.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void repeteQuandoALeituraEstouraOTimeout() throws IOException {
+        servidor.enqueue(new MockResponse().setBody("lenta").setHeadersDelay(2, TimeUnit.SECONDS));
+        servidor.enqueue(new MockResponse().setBody("rapida"));
+        ChamadorResiliente chamador = chamador(1, 10, Duration.ofSeconds(30), false);
+
+        try (Response resposta = chamador.executar(requisicao())) {
+            assertThat(resposta.body().string()).isEqualTo("rapida");
+        }
+    }
+
+    @Test
+    void disjuntorAbreFalhaRapidoEFechaAposChamadaDeTeste() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+        ChamadorResiliente chamador = chamador(0, 2, Duration.ofMillis(300), false);
+
+        for (int i = 0; i < 2; i++) {
+            try (Response resposta = chamador.executar(requisicao())) {
+                assertThat(resposta.code()).isEqualTo(500);
+            }
+        }
+        assertThat(chamador.getEstado()).isEqualTo(ChamadorResiliente.EstadoCircuito.ABERTO);
+
+        // Aberto: falha sem ir ao servidor
+        assertThatThrownBy(() -> chamador.executar(requisicao())).isInstanceOf(ApiIndisponivelException.class);
+        assertThat(servidor.getRequestCount()).isEqualTo(2);
+        assertThat(chamador.getRejeitadas()).isEqualTo(1);
+
+        // Passado o tempo aberto, uma chamada de teste bem-sucedida fecha o disjuntor
+        Thread.sleep(400);
+        servidor.enqueue(new MockResponse().setBody("ok"));
+        try (Response resposta = chamador.executar(requisicao())) {
+            assertThat(resposta.code()).isEqualTo(200);
+        }
+        assertThat(chamador.getEstado()).isEqualTo(ChamadorResiliente.EstadoCircuito.FECHADO);
+    }
+
+    @Test
+    void chamadaDeTesteComFalhaReabreODisjuntor() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+        ChamadorResiliente chamador = chamador(0, 1, Duration.ofMillis(200), false);
+
+        chamador.executar(requisicao()).close();
+        Thread.sleep(300);
+        chamador.executar(requisicao()).close();
+
+        assertThat(chamador.getEstado()).isEqualTo(ChamadorResiliente.EstadoCircuito.ABERTO);
+        assertThatThrownBy(() -> chamador.executar(requisicao())).isInstanceOf(ApiIndisponivelException.class);
+    }
+
+    @Test
+    void hedgeDisparaSegundaRequisicaoQuandoAPrimeiraDemora() throws IOException {
+        client = client.newBuilder().readTimeout(Duration.ofSeconds(5)).build();
+        servidor.enqueue(new MockResponse().setBody("lenta").setHeadersDelay(2, TimeUnit.SECONDS));
+        servidor.enqueue(new MockResponse().setBody("reserva"));
+        ChamadorResiliente chamador = chamador(0, 10, Duration.ofSeconds(30), true);
+
+        long inicio = System.nanoTime();
+        try (Response resposta = chamador.executar(requisicao())) {
+            assertThat(resposta.body().string()).isEqualTo("reserva");
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+        assertThat(chamador.getHedges()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgeNaoDisparaQuandoARespostaChegaAntesDoAtraso() throws IOException {
+        servidor.enqueue(new MockResponse().setBody("rapida"));
+        ChamadorResiliente chamador = chamador(0, 10, Duration.ofSeconds(30), true);
+
+        try (Response resposta = chamador.executar(requisicao())) {
+            assertThat(resposta.body().string()).isEqualTo("rapida");
+        }
+        assertThat(chamador.getHedges()).isZero();
+        assertThat(servidor.getRequestCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.LivroResumoDTO;
+import com.jciterceros.literalura.model.Autor;
+import com.jciterceros.literalura.model.Livro;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceTitulosTests {
+
+    private final IndiceTitulos indice = new IndiceTitulos();
+
+    @BeforeEach
+    void indexar() {
+        indice.indexar(livro(1L, "Capitães da Areia", 900, "Amado, Jorge"));
+        indice.indexar(livro(2L, "Jorge, um Brasileiro", 100, "Franca Júnior, Oswaldo"));
+    }
+
+    @Test
+    void buscaCombinadaCasaTituloEAutor() {
+        assertThat(indice.buscar("jorge", 10)).extracting(LivroResumoDTO::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void buscaPorTituloIgnoraAutores() {
+        assertThat(indice.buscarPorTitulo("Jorge", 10)).extracting(LivroResumoDTO::id).containsExactly(2L);
+        assertThat(indice.buscarPorTitulo("capitaes da are", 10)).extracting(LivroResumoDTO::id).containsExactly(1L);
+        assertThat(indice.buscarPorTitulo("amado", 10)).isEmpty();
+    }
+
+    private static Livro livro(Long id, String titulo, int downloads, String autor) {
+        Livro livro = new Livro(titulo, "pt", downloads, List.of(new Autor(autor, null, null)));
+        livro.setId(id);
+        return livro;
+    }
+}
@@ -0,0 +1,122 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.AutorDTO;
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.model.Livro;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gravações simultâneas pelo {@link LivroService}, cada uma na sua transação,
+ * disputando as mesmas chaves únicas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:literalura-concorrencia",
+        "spring.main.web-application-type=none",
+        "literalura.cli.habilitado=false",
+        "literalura.downloads.cron=-"
+})
+class LivroServiceConcorrenciaTests {
+
+    private static final int GRAVACOES = 8;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mesmoAutorNovoEmGravacoesSimultaneasGeraUmaLinha() throws Exception {
+        AutorDTO autor = new AutorDTO("Pompeia, Raul", 1863, 1895);
+        List<Callable<Livro>> gravacoes = IntStream.range(0, GRAVACOES)
+                .mapToObj(i -> new LivroDTO(null, "O Ateneu, volume " + i, List.of("pt"), 10, List.of(autor)))
+                .<Callable<Livro>>map(livro -> () -> livroService.salvarLivro(livro))
+                .toList();
+
+        executarAoMesmoTempo(gravacoes);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM autores WHERE nome_normalizado = 'raul pompeia'", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM livro_autor la JOIN autores a ON a.id = la.autor_id "
+                        + "WHERE a.nome_normalizado = 'raul pompeia'", Long.class)).isEqualTo(GRAVACOES);
+    }
+
+    @Test
+    void mesmoLivroEmGravacoesSimultaneasGeraUmaLinhaSemAutoresOrfaos() throws Exception {
+        LivroDTO livro = new LivroDTO(4L, "Memórias Póstumas de Brás Cubas", List.of("pt"), 300,
+                List.of(new AutorDTO("Assis, Machado de", 1839, 1908)));
+        List<Callable<Livro>> gravacoes = IntStream.range(0, GRAVACOES)
+                .<Callable<Livro>>mapToObj(i -> () -> livroService.salvarLivro(livro))
+                .toList();
+
+        List<Livro> salvos = executarAoMesmoTempo(gravacoes);
+
+        assertThat(salvos).extracting(Livro::getId).containsOnly(salvos.get(0).getId());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM livros WHERE chave_natural = 'g:4'", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM autores WHERE nome_normalizado = 'machado de assis'", Long.class))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM livro_autor WHERE livro_id = ?", Long.class, salvos.get(0).getId()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void primeirosLivrosDeUmIdiomaEmGravacoesSimultaneasSomamNaMesmaContagem() throws Exception {
+        List<Callable<Livro>> gravacoes = IntStream.range(0, GRAVACOES)
+                .mapToObj(i -> new LivroDTO(null, "Fundamento " + i, List.of("eo"), 5,
+                        List.of(new AutorDTO("Zamenhof, L. L.", 1859, 1917))))
+                .<Callable<Livro>>map(livro -> () -> livroService.salvarLivro(livro))
+                .toList();
+
+        executarAoMesmoTempo(gravacoes);
+
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT quantidade, total_downloads FROM contagem_idioma WHERE idioma = 'eo'"))
+                .containsEntry("QUANTIDADE", (long) GRAVACOES)
+                .containsEntry("TOTAL_DOWNLOADS", 5L * GRAVACOES);
+    }
+
+    /**
+     * Libera todas as tarefas juntas e espera o resultado de cada uma; a falha de
+     * qualquer uma falha o teste.
+     */
+    private static <T> List<T> executarAoMesmoTempo(List<Callable<T>> tarefas) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tarefas.size());
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<T>> futuros = new ArrayList<>();
+            for (Callable<T> tarefa : tarefas) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.call();
+                }));
+            }
+            largada.countDown();
+            List<T> resultados = new ArrayList<>();
+            for (Future<T> futuro : futuros) {
+                resultados.add(futuro.get(30, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.jciterceros.literalura.service;
+
+import com.jciterceros.literalura.dto.AutorDTO;
+import com.jciterceros.literalura.dto.LivroDTO;
+import com.jciterceros.literalura.model.Livro;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ida e volta do snapshot: grava o catálogo, esvazia o banco, restaura e compara.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:literalura-snapshot",
+        "spring.main.web-application-type=none",
+        "literalura.cli.habilitado=false",
+        "literalura.downloads.cron=-",
+        "literalura.snapshot.arquivo=target/snapshot-tests/catalogo.snapshot"
+})
+class SnapshotCatalogoTests {
+
+    private static final String AUTORES =
+            "SELECT id, nome, nome_normalizado, ano_nascimento, ano_falecimento FROM autores ORDER BY id";
+    private static final String LIVROS =
+            "SELECT id, chave_natural, gutendex_id, titulo, idioma, numero_downloads FROM livros ORDER BY id";
+    private static final String VINCULOS =
+            "SELECT livro_id, autor_id FROM livro_autor ORDER BY livro_id, autor_id";
+
+    @Autowired
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @Autowired
+    private LivroService livroService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void restaurarDevolveAsMesmasLinhasESequenciasAposOsIds() {
+        livroService.salvarLivro(new LivroDTO(1342L, "Pride and Prejudice", List.of("en"), 50000,
+                List.of(new AutorDTO("Austen, Jane", 1775, 1817))));
+        livroService.salvarLivro(new LivroDTO(null, "Anônimo", List.of("pt"), 1,
+                List.of(new AutorDTO("Autor Desconhecido", null, null))));
+
+        List<Map<String, Object>> autores = jdbcTemplate.queryForList(AUTORES);
+        List<Map<String, Object>> livros = jdbcTemplate.queryForList(LIVROS);
+        List<Map<String, Object>> vinculos = jdbcTemplate.queryForList(VINCULOS);
+        snapshotCatalogo.salvar();
+
+        jdbcTemplate.update("DELETE FROM livro_autor");
+        jdbcTemplate.update("DELETE FROM livros");
+        jdbcTemplate.update("DELETE FROM autores");
+        snapshotCatalogo.restaurar();
+
+        assertThat(jdbcTemplate.queryForList(AUTORES)).isEqualTo(autores);
+        assertThat(jdbcTemplate.queryForList(LIVROS)).isEqualTo(livros);
+        assertThat(jdbcTemplate.queryForList(VINCULOS)).isEqualTo(vinculos);
+
+        // As sequências voltam depois dos maiores ids: o próximo livro não colide
+        Long maiorLivro = jdbcTemplate.queryForObject("SELECT MAX(id) FROM livros", Long.class);
+        Long maiorAutor = jdbcTemplate.queryForObject("SELECT MAX(id) FROM autores", Long.class);
+        Livro novo = livroService.salvarLivro(new LivroDTO(84L, "Frankenstein", List.of("en"), 30000,
+                List.of(new AutorDTO("Shelley, Mary Wollstonecraft", 1797, 1851))));
+
+        assertThat(novo.getId()).isGreaterThan(maiorLivro);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT id FROM autores WHERE nome_normalizado = 'mary wollstonecraft shelley'", Long.class))
+                .isGreaterThan(maiorAutor);
+    }
+}